@@ -0,0 +1,407 @@
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * The Benchmark class runs configurations of the genetic algorithm on a fixed set of seeded instances
+ * and measures the time and the number of generations to reach the target (within BENCHMARK_TARGET of the optimum),
+ * the evaluations per second, the peak heap and the final gap. The last configurations compare the initializations
+ * of the population with the same operators. Each run is seeded, so the utilities are the same from one report
+ * to the next, and each measure is reported with its spread over the runs. The results are written as CSV and
+ * compared to a baseline report: a configuration which became slower or worse than the baseline by more than
+ * the noise is reported as a regression.
+ * The optimum of small instances is computed exactly by branch and bound, the others use the best known utility,
+ * kept in the reports.
+ */
+public class Benchmark {
+    // Instances: items, constraints, tightness, seed
+    private static final Object[][] INSTANCES = {
+            {30, 5, 0.25, 1L},
+            {30, 10, 0.5, 2L},
+            {100, 5, 0.25, 3L},
+            {250, 10, 0.5, 4L},
+            {500, 30, 0.25, 5L},
+    };
+
+    // Configurations: mutation, crossover, repair, selection, initialization
+    private static final String[][] CONFIGURATIONS = {
+            {"mutation", "crossover", "repair", "tournamentSelection", "random"},
+            {"flipMutation", "shuffleCrossover", "repairWeightedUtility", "tournamentSelection", "random"},
+            {"swapMutation", "divideCrossover", "repairWeightedUtility", "rankSelection", "random"},
+            {Constants.ADAPTIVE, Constants.ADAPTIVE, Constants.ADAPTIVE, "tournamentSelection", "random"},
+            {"mutation", "crossover", "repair", "tournamentSelection", "greedy"},
+            {"mutation", "crossover", "repair", "tournamentSelection", "grasp"},
+            {"mutation", "crossover", "repair", "tournamentSelection", "lpRounding"},
+    };
+
+    // Metrics of the report, each with its median and its spread over the runs
+    private static final String[] METRICS = {"timeToTarget", "generationsToTarget", "evaluationsPerSecond", "peakHeap", "finalGap"};
+    private static final String[] LABELS = {"temps jusqu'à la cible (ms)", "générations jusqu'à la cible", "évaluations/s", "pic du tas", "écart final"};
+    private static final boolean[] HIGHER_IS_BETTER = {false, false, true, false, false};
+    private static final int TIME_TO_TARGET = 0;
+    private static final int GENERATIONS_TO_TARGET = 1;
+    private static final int EVALUATIONS_PER_SECOND = 2;
+    private static final int PEAK_HEAP = 3;
+    private static final int FINAL_GAP = 4;
+
+    /**
+     * The Result class contains the measures of one configuration on one instance: for each metric,
+     * the median over the runs and its spread (scaled median absolute deviation). A target never reached is infinite.
+     */
+    private static class Result {
+        private final String instance;
+        private final String configuration;
+        private final double reference;
+        private final double[] medians;
+        private final double[] spreads;
+
+        private Result(String instance, String configuration, double reference, double[] medians, double[] spreads) {
+            this.instance = instance;
+            this.configuration = configuration;
+            this.reference = reference;
+            this.medians = medians;
+            this.spreads = spreads;
+        }
+
+        private String key() {
+            return instance + "," + configuration;
+        }
+
+        private String toCsv() {
+            StringBuilder line = new StringBuilder(instance + "," + configuration + "," + reference);
+            for (int m = 0; m < METRICS.length; m++) {
+                line.append(',').append(medians[m]).append(',').append(spreads[m]);
+            }
+            return line.toString();
+        }
+
+        private static Result fromCsv(String line) {
+            String[] values = line.split(",");
+            double[] medians = new double[METRICS.length];
+            double[] spreads = new double[METRICS.length];
+            for (int m = 0; m < METRICS.length; m++) {
+                medians[m] = Double.parseDouble(values[3 + 2 * m]);
+                spreads[m] = Double.parseDouble(values[4 + 2 * m]);
+            }
+            return new Result(values[0], values[1], Double.parseDouble(values[2]), medians, spreads);
+        }
+    }
+
+    /**
+     * The Measures class contains the runs of one configuration on one instance, before the reference is known.
+     */
+    private static class Measures {
+        private final List<double[]> improvements = new ArrayList<>();    // {run, time in milliseconds, utility, generation}
+        private final double[] bests;
+        private final double[] evaluationsPerSecond;
+        private final double[] peakHeaps;
+
+        private Measures(int runs) {
+            this.bests = new double[runs];
+            this.evaluationsPerSecond = new double[runs];
+            this.peakHeaps = new double[runs];
+        }
+
+        private Result toResult(String instance, String configuration, double reference) {
+            int runs = bests.length;
+            double target = reference * (1 - Constants.BENCHMARK_TARGET);
+            double[][] values = new double[METRICS.length][runs];
+            Arrays.fill(values[TIME_TO_TARGET], Double.POSITIVE_INFINITY);
+            Arrays.fill(values[GENERATIONS_TO_TARGET], Double.POSITIVE_INFINITY);
+            for (double[] improvement : improvements) {
+                int run = (int) improvement[0];
+                if (improvement[2] >= target) {
+                    values[TIME_TO_TARGET][run] = Math.min(values[TIME_TO_TARGET][run], improvement[1]);
+                    values[GENERATIONS_TO_TARGET][run] = Math.min(values[GENERATIONS_TO_TARGET][run], improvement[3]);
+                }
+            }
+            for (int run = 0; run < runs; run++) {
+                values[EVALUATIONS_PER_SECOND][run] = evaluationsPerSecond[run];
+                values[PEAK_HEAP][run] = peakHeaps[run];
+                values[FINAL_GAP][run] = (reference - bests[run]) / reference;
+            }
+
+            double[] medians = new double[METRICS.length];
+            double[] spreads = new double[METRICS.length];
+            for (int m = 0; m < METRICS.length; m++) {
+                medians[m] = median(values[m]);
+                spreads[m] = spread(values[m], medians[m]);
+            }
+            return new Result(instance, configuration, reference, medians, spreads);
+        }
+    }
+
+    /**
+     * Runs the benchmark, writes the report and compares it to the baseline.
+     * @param args  the report file (default benchmark.csv) and the baseline file (optional)
+     */
+    public static void main(String[] args) throws IOException {
+        Path report = Path.of(args.length > 0 ? args[0] : "benchmark.csv");
+        Map<String, Result> baseline = args.length > 1 ? read(Path.of(args[1])) : new HashMap<>();
+
+        List<Result> results = new ArrayList<>();
+        for (Object[] instance : INSTANCES) {
+            int itemNumber = (Integer) instance[0];
+            int constraintNumber = (Integer) instance[1];
+            double tightness = (Double) instance[2];
+            long seed = (Long) instance[3];
+            String name = STR."cb-\{itemNumber}-\{constraintNumber}-\{tightness}-\{seed}";
+
+            InstanceGenerator generator = new InstanceGenerator(itemNumber, constraintNumber, tightness, seed);
+            Item[] items = generator.generateItems();
+            double[] budgets = generator.generateBudgets(items);
+
+            // The reference is the exact optimum for small instances, else the best known utility
+            boolean exact = itemNumber <= Constants.BENCHMARK_EXACT_ITEMS;
+            double reference = exact ? new BranchAndBound(items, budgets).solve() : 0.0;
+            for (Result old : baseline.values()) {
+                if (!exact && old.instance.equals(name)) {
+                    reference = Math.max(reference, old.reference);
+                }
+            }
+
+            List<Measures> measures = new ArrayList<>();
+            for (String[] configuration : CONFIGURATIONS) {
+                // Runs without measure warm up the JIT on this instance and configuration
+                run(items, budgets, configuration, Constants.BENCHMARK_WARMUP_RUNS);
+                Measures measure = run(items, budgets, configuration, Constants.BENCHMARK_RUNS);
+                measures.add(measure);
+                // A better utility found by a run becomes the best known one
+                if (!exact) {
+                    reference = Math.max(reference, Arrays.stream(measure.bests).max().orElse(0.0));
+                }
+            }
+            for (int c = 0; c < CONFIGURATIONS.length; c++) {
+                results.add(measures.get(c).toResult(name, String.join("/", CONFIGURATIONS[c]), reference));
+            }
+        }
+
+        StringBuilder header = new StringBuilder("instance,configuration,reference");
+        for (String metric : METRICS) {
+            header.append(',').append(metric).append(',').append(metric).append("Spread");
+        }
+        List<String> lines = new ArrayList<>();
+        lines.add(header.toString());
+        for (Result result : results) {
+            lines.add(result.toCsv());
+            System.out.println(result.toCsv());
+        }
+        Files.write(report, lines);
+
+        if (!baseline.isEmpty() && compare(results, baseline) > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Runs a configuration several times on an instance. Run r uses the seed BENCHMARK_SEED + r,
+     * so the runs of all the configurations draw the same random numbers and their utilities are reproducible.
+     * Small instances run more generations, so their runs last long enough to be timed.
+     * @param items         an array of items
+     * @param budgets       an array of budget constraints
+     * @param configuration the mutation, crossover, repair, selection and initialization methods
+     * @param runs          the number of runs
+     * @return the measures of the runs
+     */
+    private static Measures run(Item[] items, double[] budgets, String[] configuration, int runs) {
+        Measures measures = new Measures(runs);
+        int generations = Math.max(Constants.BENCHMARK_GENERATIONS, Constants.BENCHMARK_ITEM_GENERATIONS / items.length);
+
+        for (int run = 0; run < runs; run++) {
+            System.gc();
+            resetPeakHeap();
+            SeededRandom.setSeed(Constants.BENCHMARK_SEED + run);
+            long startTime = System.nanoTime();
+            Population population = new Population(Constants.SOLUTION_NUMBER, items, budgets, configuration[2], configuration[4]);
+            GeneticAlgorithm ga = new GeneticAlgorithm(population);
+            double best = population.getBestSolution().getUtilities();
+            measures.improvements.add(new double[]{run, (System.nanoTime() - startTime) / 1_000_000.0, best, 0});
+
+            for (int gen = 0; gen < generations; gen++) {
+                ga.nextGeneration(configuration[0], configuration[1], configuration[2], configuration[3]);
+                double utility = ga.getPopulation().getBestSolution().getUtilities();
+                if (utility > best) {
+                    best = utility;
+                    measures.improvements.add(new double[]{run, (System.nanoTime() - startTime) / 1_000_000.0, utility, gen + 1});
+                }
+            }
+            long evaluations = Constants.SOLUTION_NUMBER + ga.getEvaluationNumber();
+            measures.evaluationsPerSecond[run] = evaluations / ((System.nanoTime() - startTime) / 1_000_000_000.0);
+            measures.peakHeaps[run] = peakHeap();
+            measures.bests[run] = best;
+        }
+        return measures;
+    }
+
+    /**
+     * Compares the results to the baseline and prints the regressions. A metric regresses when it became worse
+     * by more than BENCHMARK_NOISE_FACTOR times the larger spread of the two reports, plus BENCHMARK_TOLERANCE
+     * of the baseline value, which covers the JIT compiling differently from one JVM to the next,
+     * so the differences between runs of the same code are not reported.
+     * @param results   the new results
+     * @param baseline  the baseline results by instance and configuration
+     * @return the number of regressions
+     */
+    private static int compare(List<Result> results, Map<String, Result> baseline) {
+        int regressions = 0;
+        for (Result result : results) {
+            Result old = baseline.get(result.key());
+            if (old == null) {
+                continue;
+            }
+            List<String> problems = new ArrayList<>();
+            for (int m = 0; m < METRICS.length; m++) {
+                double oldValue = old.medians[m];
+                double oldSpread = old.spreads[m];
+                if (m == FINAL_GAP) {
+                    // Gaps are compared to the same reference, the old gap is moved to the new reference
+                    oldValue = 1 - (1 - oldValue) * old.reference / result.reference;
+                    oldSpread = oldSpread * old.reference / result.reference;
+                }
+                double worse = HIGHER_IS_BETTER[m] ? oldValue - result.medians[m] : result.medians[m] - oldValue;
+                double noise = Constants.BENCHMARK_NOISE_FACTOR * Math.max(oldSpread, result.spreads[m])
+                        + Constants.BENCHMARK_TOLERANCE * Math.abs(oldValue);
+                if (worse > noise) {
+                    problems.add(STR."\{LABELS[m]} \{oldValue} -> \{result.medians[m]}");
+                }
+            }
+            if (!problems.isEmpty()) {
+                regressions++;
+                String details = String.join(", ", problems);
+                System.out.println(STR."RÉGRESSION \{result.key()} : \{details}");
+            }
+        }
+        System.out.println(STR."\{regressions} régression(s)");
+        return regressions;
+    }
+
+    private static Map<String, Result> read(Path path) throws IOException {
+        Map<String, Result> results = new HashMap<>();
+        List<String> lines = Files.readAllLines(path);
+        for (String line : lines.subList(1, lines.size())) {
+            if (!line.isBlank()) {
+                Result result = Result.fromCsv(line);
+                results.put(result.key(), result);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Calculates the median of values. Infinite values (a target never reached) are sorted last.
+     * @param values    the values of the runs
+     * @return the median
+     */
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return (sorted.length % 2 == 1) ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    /**
+     * Calculates the spread of values: their median absolute deviation, scaled to be the standard deviation
+     * of normal values. The spread of an infinite median is 0.
+     * @param values    the values of the runs
+     * @param median    the median of the values
+     * @return the spread
+     */
+    private static double spread(double[] values, double median) {
+        if (Double.isInfinite(median)) {
+            return 0.0;
+        }
+        double[] deviations = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            deviations[i] = Math.abs(values[i] - median);
+        }
+        return 1.4826 * median(deviations);
+    }
+
+    private static void resetPeakHeap() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    /**
+     * The BranchAndBound class finds the optimum of a small instance by depth-first search.
+     * Items are tried by decreasing pseudo-utility ratio, and a branch is cut when the LP relaxation
+     * of the surrogate constraint (the sum of the constraints relative to the budgets) can not beat the best utility.
+     */
+    private static class BranchAndBound {
+        private final Item[] items;
+        private final double[] budgets;
+        private final int[] order;
+        private final double[] surrogateCosts;
+        private final double[] costs;
+        private double best;
+
+        private BranchAndBound(Item[] items, double[] budgets) {
+            this.items = items;
+            this.budgets = budgets;
+            this.order = Solution.sortByPseudoUtility(items, budgets);
+            this.costs = new double[budgets.length];
+            double[] weights = new double[budgets.length];
+            for (int j = 0; j < budgets.length; j++) {
+                weights[j] = 1.0 / budgets[j];
+            }
+            this.surrogateCosts = new double[items.length];
+            for (int i = 0; i < items.length; i++) {
+                surrogateCosts[i] = items[i].getWeightedCost(weights);
+            }
+        }
+
+        private double solve() {
+            best = 0.0;
+            search(0, 0.0, 0.0);
+            return best;
+        }
+
+        private void search(int k, double utility, double surrogateUsed) {
+            best = Math.max(best, utility);
+            if (k == order.length || bound(k, utility, budgets.length - surrogateUsed) <= best) {
+                return;
+            }
+            int i = order[k];
+            if (items[i].fitsIn(costs, budgets)) {
+                items[i].addCostsTo(costs, 1);
+                search(k + 1, utility + items[i].getUtility(), surrogateUsed + surrogateCosts[i]);
+                items[i].addCostsTo(costs, -1);
+            }
+            search(k + 1, utility, surrogateUsed);
+        }
+
+        /**
+         * Calculates the LP relaxation of the surrogate constraint on the items left.
+         * @param k         the position of the first item left in the order
+         * @param utility   the utility already selected
+         * @param capacity  the surrogate capacity left
+         * @return an upper bound of the utility of the branch
+         */
+        private double bound(int k, double utility, double capacity) {
+            for (; k < order.length && capacity > 0; k++) {
+                int i = order[k];
+                double fraction = Math.min(1.0, capacity / surrogateCosts[i]);
+                utility += fraction * items[i].getUtility();
+                capacity -= fraction * surrogateCosts[i];
+            }
+            return utility;
+        }
+    }
+}
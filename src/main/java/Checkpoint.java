@@ -0,0 +1,430 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * The Checkpoint class saves the state of a population in a memory-mapped file, so a long run can be resumed.
+ * The population is copied in a compact binary form (packed genomes, utilities, costs, generation) into one of two
+ * buffers, and a background thread writes it to the file while the genetic algorithm keeps running.
+ * The instance does not change during a run, so it is written only once in a side file (the checkpoint file
+ * followed by ".instance"), sparse items with their nonzero costs only; the checkpoint keeps its checksum.
+ * The file has two slots written in turn, each with its own generation and checksum, so a crash while writing
+ * one slot leaves the other one readable.
+ */
+public class Checkpoint {
+    private static final int MAGIC = 0x53414344;
+    private static final int VERSION = 3;
+    private static final int CHECKSUM_OFFSET = 6 * Integer.BYTES;
+    private static final int BODY_CHECKSUM_OFFSET = CHECKSUM_OFFSET + Long.BYTES;
+    private static final int HEADER_SIZE = 7 * Integer.BYTES + 2 * Long.BYTES;
+
+    private final Path path;
+    private final ExecutorService writer;
+    private final ByteBuffer[] buffers = new ByteBuffer[2];
+    private int pending = -1;
+    private int writing = -1;
+    private boolean draining;
+    private RuntimeException failure;
+    private Item[] items;               // Instance of the saved populations
+    private double[] budgets;
+    private boolean instanceWritten;
+    private long instanceChecksum;      // Only used by the writer thread
+    private int fileSlot;               // Next slot of the file to write, only used by the writer thread
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+
+    /**
+     * Constructs a Checkpoint writing in the specified file.
+     * @param path  the file to write the checkpoint in
+     */
+    public Checkpoint(Path path) {
+        this.path = path;
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "checkpoint-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Copies the population into a free buffer and asks the writer thread to write it to the file.
+     * If an older checkpoint is still waiting to be written, it is replaced by this one.
+     * @param population    the population to save
+     * @param generation    the next generation to run when resuming
+     * @throws UncheckedIOException if the writer thread failed to write a previous checkpoint
+     */
+    public void save(Population population, int generation) {
+        throwFailure();
+        long size = size(population);
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Checkpoint Too Large !!");
+        }
+        int slot;
+        synchronized (this) {
+            // Reuse the pending buffer if the writer did not take it yet, else the one not being written
+            if (pending >= 0) {
+                slot = pending;
+                pending = -1;
+            } else {
+                slot = (writing == 0) ? 1 : 0;
+            }
+        }
+        if (buffers[slot] == null || buffers[slot].capacity() != size) {
+            buffers[slot] = ByteBuffer.allocate((int) size);
+        }
+        encode(buffers[slot], population, generation);
+
+        synchronized (this) {
+            if (items != population.getItems()) {
+                items = population.getItems();
+                budgets = population.getBudgets();
+                instanceWritten = false;
+            }
+            pending = slot;
+            if (!draining) {
+                draining = true;
+                writer.execute(this::drain);
+            }
+        }
+    }
+
+    /**
+     * Writes the pending buffers to the file until there is nothing left to write.
+     * A failure is kept to be thrown by the next save() or close(), and the next save() starts a new writer.
+     */
+    private void drain() {
+        boolean finished = false;
+        try {
+            while (true) {
+                ByteBuffer buffer;
+                Item[] instanceItems = null;
+                double[] instanceBudgets = null;
+                synchronized (this) {
+                    if (pending < 0) {
+                        writing = -1;
+                        draining = false;
+                        finished = true;
+                        return;
+                    }
+                    buffer = buffers[pending];
+                    writing = pending;
+                    pending = -1;
+                    if (!instanceWritten) {
+                        instanceItems = items;
+                        instanceBudgets = budgets;
+                        instanceWritten = true;
+                    }
+                }
+                if (instanceItems != null) {
+                    instanceChecksum = writeInstance(instancePath(path), instanceItems, instanceBudgets);
+                }
+                write(buffer);
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                failure = e;
+                // The instance may be incomplete, write it again with the next checkpoint
+                instanceWritten = false;
+            }
+        } finally {
+            if (!finished) {
+                synchronized (this) {
+                    writing = -1;
+                    draining = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Throws the failure of the writer thread, if any, only once.
+     */
+    private synchronized void throwFailure() {
+        if (failure != null) {
+            RuntimeException e = failure;
+            failure = null;
+            throw e;
+        }
+    }
+
+    /**
+     * Writes a buffer in the slot of the mapped file which does not hold the last checkpoint.
+     * The body and its checksum are forced to the disk before the magic number is written,
+     * so a checkpoint interrupted while writing is never read back, and the other slot stays valid.
+     * @param buffer    the encoded population
+     */
+    private void write(ByteBuffer buffer) {
+        try {
+            int size = buffer.capacity();
+            if (mapped == null || mapped.capacity() != 2L * size) {
+                if (channel == null) {
+                    channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                }
+                channel.truncate(2L * size);
+                mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, 2L * size);
+                // Slots of another size are not valid anymore
+                mapped.putInt(0, 0);
+                mapped.putInt(size, 0);
+                fileSlot = 0;
+            }
+            buffer.putLong(CHECKSUM_OFFSET, instanceChecksum);
+            buffer.putLong(BODY_CHECKSUM_OFFSET, bodyChecksum(buffer));
+
+            int offset = fileSlot * size;
+            mapped.putInt(offset, 0);
+            mapped.force();
+            mapped.put(offset + Integer.BYTES, buffer, Integer.BYTES, size - Integer.BYTES);
+            mapped.force();
+            mapped.putInt(offset, MAGIC);
+            mapped.force();
+            fileSlot = 1 - fileSlot;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Calculates the checksum of a slot: all its bytes after the magic number, except the checksum itself.
+     * @param slot  the slot, from its magic number to its end
+     * @return the checksum of the slot
+     */
+    private static long bodyChecksum(ByteBuffer slot) {
+        CRC32 crc = new CRC32();
+        crc.update(slot.slice(Integer.BYTES, BODY_CHECKSUM_OFFSET - Integer.BYTES));
+        crc.update(slot.slice(BODY_CHECKSUM_OFFSET + Long.BYTES, slot.capacity() - BODY_CHECKSUM_OFFSET - Long.BYTES));
+        return crc.getValue();
+    }
+
+    /**
+     * Waits for the last checkpoint to be written, then closes the file.
+     * @throws UncheckedIOException if the writer thread failed to write a checkpoint
+     */
+    public void close() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(1, TimeUnit.MINUTES);
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        throwFailure();
+    }
+
+    /**
+     * Rebuilds a genetic algorithm from a checkpoint file and its instance file, from the valid slot
+     * with the highest generation. Solutions are restored as they were saved, without repair. The statistics of the operator bandits
+     * are not saved, so a resumed adaptive run learns the rewards of its operators again.
+     * @param path  the checkpoint file
+     * @return a genetic algorithm which continues at the saved generation
+     */
+    public static GeneticAlgorithm resume(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int size = (int) (channel.size() / 2);
+            ByteBuffer buffer = null;
+            for (int offset = 0; size > HEADER_SIZE && offset < 2 * size; offset += size) {
+                ByteBuffer slot = file.slice(offset, size);
+                if (slot.getInt(0) == MAGIC && slot.getInt(Integer.BYTES) == VERSION
+                        && slot.getLong(BODY_CHECKSUM_OFFSET) == bodyChecksum(slot)
+                        && (buffer == null || slot.getInt(2 * Integer.BYTES) > buffer.getInt(2 * Integer.BYTES))) {
+                    buffer = slot;
+                }
+            }
+            if (buffer == null) {
+                throw new IllegalStateException("Checkpoint Not Valid !!");
+            }
+            buffer.position(2 * Integer.BYTES);
+            int generation = buffer.getInt();
+            int populationSize = buffer.getInt();
+            int itemNumber = buffer.getInt();
+            int constraintNumber = buffer.getInt();
+            long checksum = buffer.getLong();
+            buffer.getLong();
+            byte[] repair = new byte[buffer.getInt()];
+            buffer.get(repair);
+            String repairMethod = new String(repair, StandardCharsets.UTF_8);
+
+            double[] budgets = new double[constraintNumber];
+            Item[] items = readInstance(instancePath(path), budgets, itemNumber, checksum);
+
+            Solution[] solutions = new Solution[populationSize];
+            int words = (itemNumber + Long.SIZE - 1) / Long.SIZE;
+            for (int s = 0; s < populationSize; s++) {
+                double utilities = buffer.getDouble();
+                double[] costs = new double[constraintNumber];
+                for (int j = 0; j < constraintNumber; j++) {
+                    costs[j] = buffer.getDouble();
+                }
+                int[] selection = new int[itemNumber];
+                for (int w = 0; w < words; w++) {
+                    long word = buffer.getLong();
+                    for (int b = 0; b < Long.SIZE && w * Long.SIZE + b < itemNumber; b++) {
+                        selection[w * Long.SIZE + b] = (int) ((word >>> b) & 1L);
+                    }
+                }
+                solutions[s] = new Solution(items, budgets, selection, utilities, costs, repairMethod);
+            }
+
+            Population population = new Population(solutions, items, budgets, repairMethod);
+            return new GeneticAlgorithm(population, generation);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Path instancePath(Path path) {
+        return path.resolveSibling(path.getFileName() + ".instance");
+    }
+
+    /**
+     * Writes the instance in a file: the item and constraint numbers, the budgets, then for each item its utility
+     * and its costs, all of them for a dense item, only the nonzero ones with their index for a sparse item.
+     * @param file      the file to write
+     * @param items     an array of items
+     * @param budgets   an array of budget constraints
+     * @return the checksum of the file
+     */
+    private static long writeInstance(Path file, Item[] items, double[] budgets) {
+        CRC32 crc = new CRC32();
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                new CheckedOutputStream(Files.newOutputStream(file), crc), 1 << 16))) {
+            output.writeInt(items.length);
+            output.writeInt(budgets.length);
+            for (double budget : budgets) {
+                output.writeDouble(budget);
+            }
+            for (Item item : items) {
+                output.writeDouble(item.getUtility());
+                output.writeBoolean(item.isSparse());
+                if (item.isSparse()) {
+                    int[] constraints = item.getConstraints();
+                    double[] nonZeroCosts = item.getNonZeroCosts();
+                    output.writeInt(constraints.length);
+                    for (int k = 0; k < constraints.length; k++) {
+                        output.writeInt(constraints[k]);
+                        output.writeDouble(nonZeroCosts[k]);
+                    }
+                } else {
+                    for (double cost : item.getCosts()) {
+                        output.writeDouble(cost);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Reads the instance file written by writeInstance and checks that it is the instance of the checkpoint.
+     * @param file          the file to read
+     * @param budgets       receives the budgets
+     * @param itemNumber    the number of items saved in the checkpoint
+     * @param checksum      the checksum saved in the checkpoint
+     * @return the items
+     */
+    private static Item[] readInstance(Path file, double[] budgets, int itemNumber, long checksum) throws IOException {
+        CRC32 crc = new CRC32();
+        Item[] items;
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(
+                new CheckedInputStream(Files.newInputStream(file), crc), 1 << 16))) {
+            if (input.readInt() != itemNumber || input.readInt() != budgets.length) {
+                throw new IllegalStateException("Checkpoint Instance Not Valid !!");
+            }
+            for (int j = 0; j < budgets.length; j++) {
+                budgets[j] = input.readDouble();
+            }
+            items = new Item[itemNumber];
+            for (int i = 0; i < itemNumber; i++) {
+                double utility = input.readDouble();
+                if (input.readBoolean()) {
+                    int[] constraints = new int[input.readInt()];
+                    double[] nonZeroCosts = new double[constraints.length];
+                    for (int k = 0; k < constraints.length; k++) {
+                        constraints[k] = input.readInt();
+                        nonZeroCosts[k] = input.readDouble();
+                    }
+                    items[i] = new Item(utility, budgets.length, constraints, nonZeroCosts);
+                } else {
+                    double[] costs = new double[budgets.length];
+                    for (int j = 0; j < budgets.length; j++) {
+                        costs[j] = input.readDouble();
+                    }
+                    items[i] = new Item(utility, costs);
+                }
+            }
+        }
+        if (crc.getValue() != checksum) {
+            throw new IllegalStateException("Checkpoint Instance Not Valid !!");
+        }
+        return items;
+    }
+
+    /**
+     * Writes the population in the buffer. The checksums are written by the writer thread.
+     * @param buffer        the buffer to fill
+     * @param population    the population to save
+     * @param generation    the next generation to run when resuming
+     */
+    private static void encode(ByteBuffer buffer, Population population, int generation) {
+        byte[] repair = population.getRepairMethod().getBytes(StandardCharsets.UTF_8);
+
+        buffer.clear();
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(generation);
+        buffer.putInt(population.solutionLength());
+        buffer.putInt(population.getItems().length);
+        buffer.putInt(population.getBudgets().length);
+        buffer.putLong(0L);
+        buffer.putLong(0L);
+        buffer.putInt(repair.length);
+        buffer.put(repair);
+
+        for (Solution solution : population.getSolutions()) {
+            buffer.putDouble(solution.getUtilities());
+            for (double cost : solution.getCosts()) {
+                buffer.putDouble(cost);
+            }
+            // Pack the selection, 64 items per word
+            int[] selection = solution.getSelection();
+            for (int w = 0; w < selection.length; w += Long.SIZE) {
+                long word = 0L;
+                for (int b = 0; b < Long.SIZE && w + b < selection.length; b++) {
+                    word |= (long) selection[w + b] << b;
+                }
+                buffer.putLong(word);
+            }
+        }
+    }
+
+    /**
+     * Calculates the number of bytes needed to save the population, without the instance.
+     * @param population    the population to save
+     * @return the size of the checkpoint in bytes
+     */
+    private static long size(Population population) {
+        long items = population.getItems().length;
+        long constraints = population.getBudgets().length;
+        long words = (items + Long.SIZE - 1) / Long.SIZE;
+        return HEADER_SIZE
+                + population.getRepairMethod().getBytes(StandardCharsets.UTF_8).length
+                + population.solutionLength() * ((1 + constraints) * Double.BYTES + words * Long.BYTES);
+    }
+}
@@ -7,11 +7,46 @@ public class Constants {
     public static final double ELITISM_RATE = 0.1;
     public static final int TOURNAMENT_SIZE = 4;
     public static final int MULTI = 100;
+    public static final double SPARSE_DENSITY = 0.25;
+    public static final int GENERATOR_CHUNK = 4096;
+    public static final int CHECKPOINT_INTERVAL = 50;
+    public static final int SERVICE_WORKERS = 4;
+    public static final int SERVICE_CAPACITY = 64;
+    public static final int SERVICE_SLICE = 10;
+    public static final long SERVICE_TIME_BUDGET = 10_000;
+    public static final long SERVICE_MAX_TIME_BUDGET = 3_600_000;
+    public static final int SERVICE_PORT = 8080;
+    public static final int SERVICE_LATENCY_SAMPLES = 1024;
+    public static final int LIVE_BUFFER_SIZE = 4096;
+    public static final int LIVE_REFRESH_DELAY = 200;
     public static final String[] MUTATIONS = {"mutation", "flipMutation", "swapMutation"};
     public static final String[] CROSSOVERS = {"crossover", "divideCrossover", "shuffleCrossover"};
     public static final String[] REPAIRS = {"repair", "repairWeightedUtility"};
     public static final String[] SELECTIONS = {"selectParents", "rouletteWheelSelection", "rankSelection", "tournamentSelection"};
     public static final int METHOD_NUMBER = MUTATIONS.length*CROSSOVERS.length*REPAIRS.length*SELECTIONS.length;
+    public static final String ADAPTIVE = "adaptive";
+    public static final String[] INITIALIZATIONS = {"random", "greedy", "grasp", "lpRounding"};
+    public static final int GRASP_RCL_SIZE = 3;
+    public static final boolean DIVERSITY_CONTROL = false;
+    public static final int DUPLICATE_RETRIES = 3;
+    public static final double DIVERSITY_THRESHOLD = 0.01;
+    public static final int BENCHMARK_RUNS = 11;
+    public static final int BENCHMARK_WARMUP_RUNS = 3;
+    public static final int BENCHMARK_GENERATIONS = 1000;
+    public static final int BENCHMARK_ITEM_GENERATIONS = 200_000;
+    public static final long BENCHMARK_SEED = 20_240_101L;
+    public static final int BENCHMARK_EXACT_ITEMS = 30;
+    public static final double BENCHMARK_TARGET = 0.005;
+    public static final double BENCHMARK_NOISE_FACTOR = 3.0;
+    public static final double BENCHMARK_TOLERANCE = 0.3;
+    public static final double UCB_EXPLORATION = 2.0;
+    public static final double[] MUTATION_RATES = {0.01, 0.05, 0.1, 0.2};
+    public static final double[] ELITISM_RATES = {0.05, 0.1, 0.2};
+    public static final int[] TOURNAMENT_SIZES = {2, 4, 6};
+    public static final int[] SOLUTION_NUMBERS = {10, 20, 40};
+    public static final int TUNER_RANDOM_CONFIGURATIONS = 48;
+    public static final int TUNER_FIRST_RUNS = 4;
+    public static final double TUNER_Z = 1.645;
 
 
 
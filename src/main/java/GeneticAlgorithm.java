@@ -9,6 +9,20 @@ public class GeneticAlgorithm {
     private final double mutationRate;
     private final int generations;
     private final double elitismRate;
+    private final int tournamentSize;
+    private final int startGeneration;
+    private Checkpoint checkpoint;
+    private int checkpointInterval;
+    private StatisticsBuffer statistics;
+    private boolean diversityControl;
+    private final double[] diversityHistory;   // Diversity after each generation, only filled when it is controlled
+    private int generation;
+    private long evaluationNumber;
+    private int rejectedNumber;
+    private int restartNumber;
+    private final OperatorBandit mutationBandit = new OperatorBandit(Constants.MUTATIONS);
+    private final OperatorBandit crossoverBandit = new OperatorBandit(Constants.CROSSOVERS);
+    private final OperatorBandit repairBandit = new OperatorBandit(Constants.REPAIRS);
     private static Solution[][] solution;
     public static double[][] meanValue;
     public static double[][] standardDeviationValue;
@@ -18,10 +32,50 @@ public class GeneticAlgorithm {
      * @param population    the initial population
      */
     public GeneticAlgorithm(Population population) {
+        this(population, 0);
+    }
+
+    /**
+     * Constructs a GeneticAlgorithm which starts at the specified generation, used to resume a saved run.
+     * @param population        the population to continue with
+     * @param startGeneration   the first generation to run
+     */
+    public GeneticAlgorithm(Population population, int startGeneration) {
+        this(population, startGeneration, Constants.MUTATION_RATE, Constants.ELITISM_RATE, Constants.TOURNAMENT_SIZE);
+    }
+
+    /**
+     * Constructs a GeneticAlgorithm with the specified rates, used to try other values than the constants.
+     * @param population        the initial population
+     * @param mutationRate      the probability to mutate a child
+     * @param elitismRate       the part of the population kept in the next generation
+     * @param tournamentSize    the size of the tournament
+     */
+    public GeneticAlgorithm(Population population, double mutationRate, double elitismRate, int tournamentSize) {
+        this(population, 0, mutationRate, elitismRate, tournamentSize);
+    }
+
+    private GeneticAlgorithm(Population population, int startGeneration, double mutationRate, double elitismRate, int tournamentSize) {
         this.population = population;
-        this.mutationRate = Constants.MUTATION_RATE;
+        this.mutationRate = mutationRate;
         this.generations = Constants.GENERATIONS;
-        this.elitismRate = Constants.ELITISM_RATE;
+        this.elitismRate = elitismRate;
+        this.tournamentSize = tournamentSize;
+        this.startGeneration = startGeneration;
+        this.generation = startGeneration;
+        this.diversityHistory = new double[generations];
+        this.checkpointInterval = Constants.CHECKPOINT_INTERVAL;
+        this.diversityControl = Constants.DIVERSITY_CONTROL;
+    }
+
+    /**
+     * Saves the population in a checkpoint every checkpointInterval generations.
+     * @param checkpoint            the checkpoint to write in
+     * @param checkpointInterval    the number of generations between two saves
+     */
+    public void enableCheckpoint(Checkpoint checkpoint, int checkpointInterval) {
+        this.checkpoint = checkpoint;
+        this.checkpointInterval = checkpointInterval;
     }
 
     /**
@@ -30,7 +84,7 @@ public class GeneticAlgorithm {
      */
     private Solution[] selectParents() {
 
-        Random rand = new Random();
+        Random rand = SeededRandom.current();
         Solution mother = population.getSolutions()[rand.nextInt(population.getSolutions().length)];
         Solution father = mother;
 
@@ -66,7 +120,7 @@ public class GeneticAlgorithm {
      * @return the selected solution
      */
     private Solution selectSolutionByRoulette(double utilities) {
-        double randomPoint = Math.random() * utilities;
+        double randomPoint = SeededRandom.current().nextDouble() * utilities;
         double currentUtility = 0.0;
 
         for (Solution solution : population.getSolutions()) {
@@ -110,7 +164,7 @@ public class GeneticAlgorithm {
      * @return the selected solution
      */
     private Solution selectSolutionByRank(Solution[] sortedSolutions, double ranks) {
-        double randomPoint = Math.random() * ranks;
+        double randomPoint = SeededRandom.current().nextDouble() * ranks;
         double cumulativeRank = 0.0;
 
         for (int i = 0; i < sortedSolutions.length; i++) {
@@ -146,7 +200,7 @@ public class GeneticAlgorithm {
      * @return the selected solution
      */
     private Solution selectSolutionByTournament(int tournamentSize) {
-        Random rand = new Random();
+        Random rand = SeededRandom.current();
         Solution[] tournament = new Solution[tournamentSize];
 
         // Randomly select solutions for the tournament
@@ -171,7 +225,7 @@ public class GeneticAlgorithm {
 
         // Copy the best solutions into the new population
         for (int i = 0; i < elitists; i++) {
-            newPopulation.getSolutions()[i] = sortedSolutions[i];
+            newPopulation.setSolution(i, sortedSolutions[i]);
         }
     }
 
@@ -181,47 +235,200 @@ public class GeneticAlgorithm {
      * @return the best solution found
      */
     public Solution solve(String mutationMethod, String crossoverMethod, String repairMethod, String selectionMethod,int tour) {
+        for (int gen = startGeneration; gen < generations; gen++) {
+            nextGeneration(mutationMethod, crossoverMethod, repairMethod, selectionMethod);
+            Solution best = population.getBestSolution();
+            if (solution != null) {
+                solution[tour][gen] = best;
+            }
+            if (statistics != null) {
+                double mean = Arrays.stream(population.getSolutions()).mapToDouble(Solution::getUtilities).average().orElse(0.0);
+                statistics.offer(gen, best.getUtilities(), mean);
+            }
+            if (checkpoint != null && (gen + 1) % checkpointInterval == 0) {
+                checkpoint.save(population, gen + 1);
+            }
+        }
+        return population.getBestSolution();
+    }
+
+    /**
+     * Runs one generation: keeps the elitists and replaces the other solutions by mutated children.
+     * If a mutation, crossover or repair method is Constants.ADAPTIVE, the operator of this family is chosen
+     * for each child by a bandit, rewarded by the improvement of the child.
+     */
+    public void nextGeneration(String mutationMethod, String crossoverMethod, String repairMethod, String selectionMethod) {
+        nextGeneration(mutationMethod, crossoverMethod, repairMethod, selectionMethod, Long.MAX_VALUE);
+    }
+
+    /**
+     * Runs one generation which stops creating children at the deadline: the solutions not replaced yet are kept.
+     * @param deadline  the time to stop at, compared to System.nanoTime()
+     */
+    public void nextGeneration(String mutationMethod, String crossoverMethod, String repairMethod, String selectionMethod, long deadline) {
         Solution[] parents;
         Solution newSolution;
-        Population newPopulation;
-        for (int gen = 0; gen < generations; gen++) {
-            newPopulation = population;
-            int elitists = (int)(newPopulation.getSolutions().length*elitismRate);
-            applyElitism(newPopulation,elitists);
-            for (int i = elitists; i < population.getSolutions().length; i++) {
-                parents = switch (selectionMethod) {
-                    case "selectParents" -> selectParents();
-                    case "rouletteWheelSelection" -> rouletteWheelSelection();
-                    case "rankSelection" -> rankSelection();
-                    case "tournamentSelection" -> tournamentSelection(Constants.TOURNAMENT_SIZE);
-                    default -> throw new IllegalStateException("Selection Not Found !!");
-                };
-                newSolution = new Solution(population.getItems(), population.getBudgets(),repairMethod);
-                newSolution.setRepairMethod(repairMethod);
-                newSolution = switch (crossoverMethod) {
-                    case "crossover" -> Solution.crossover(parents[0],parents[1]);
-                    case "divideCrossover" -> Solution.divideCrossover(parents[0],parents[1]);
-                    case "shuffleCrossover" -> Solution.shuffleCrossover(parents[0],parents[1]);
-                    default -> throw new IllegalStateException("Crossover Not Found !!");
-
-                };
-                if (Math.random() < mutationRate) {
-                    switch (mutationMethod) {
-                        case "mutation" : newSolution.mutation(); break;
-                        case "flipMutation" : newSolution.flipMutation(mutationRate); break;
-                        case "swapMutation" : newSolution.swapMutation(); break;
-                        default : throw new IllegalStateException("Mutation Not Found !!");
-                    }
+        Population newPopulation = population;
+        int elitists = (int)(newPopulation.getSolutions().length*elitismRate);
+        applyElitism(newPopulation,elitists);
+        for (int i = elitists; i < population.getSolutions().length && System.nanoTime() < deadline; i++) {
+            parents = switch (selectionMethod) {
+                case "selectParents" -> selectParents();
+                case "rouletteWheelSelection" -> rouletteWheelSelection();
+                case "rankSelection" -> rankSelection();
+                case "tournamentSelection" -> tournamentSelection(tournamentSize);
+                default -> throw new IllegalStateException("Selection Not Found !!");
+            };
+            int crossoverArm = crossoverMethod.equals(Constants.ADAPTIVE) ? crossoverBandit.choose() : -1;
+            int repairArm = repairMethod.equals(Constants.ADAPTIVE) ? repairBandit.choose() : -1;
+            String crossover = (crossoverArm < 0) ? crossoverMethod : Constants.CROSSOVERS[crossoverArm];
+            String repair = (repairArm < 0) ? repairMethod : Constants.REPAIRS[repairArm];
+            newSolution = switch (crossover) {
+                case "crossover" -> Solution.crossover(parents[0],parents[1],repair);
+                case "divideCrossover" -> Solution.divideCrossover(parents[0],parents[1],repair);
+                case "shuffleCrossover" -> Solution.shuffleCrossover(parents[0],parents[1],repair);
+                default -> throw new IllegalStateException("Crossover Not Found !!");
+
+            };
+            evaluationNumber++;
+
+            // Reward the crossover and the repair by the improvement of the child over its best parent
+            double parentUtility = Math.max(parents[0].getUtilities(), parents[1].getUtilities());
+            if (crossoverArm >= 0) {
+                crossoverBandit.reward(crossoverArm, OperatorBandit.improvement(newSolution.getUtilities(), parentUtility));
+            }
+            if (repairArm >= 0) {
+                repairBandit.reward(repairArm, OperatorBandit.improvement(newSolution.getUtilities(), parentUtility));
+            }
+
+            if (SeededRandom.current().nextDouble() < mutationRate) {
+                int mutationArm = mutationMethod.equals(Constants.ADAPTIVE) ? mutationBandit.choose() : -1;
+                String mutation = (mutationArm < 0) ? mutationMethod : Constants.MUTATIONS[mutationArm];
+                double childUtility = newSolution.getUtilities();
+                switch (mutation) {
+                    case "mutation" : newSolution.mutation(); break;
+                    case "flipMutation" : newSolution.flipMutation(mutationRate); break;
+                    case "swapMutation" : newSolution.swapMutation(); break;
+                    default : throw new IllegalStateException("Mutation Not Found !!");
+                }
+                evaluationNumber++;
+                if (mutationArm >= 0) {
+                    mutationBandit.reward(mutationArm, OperatorBandit.improvement(newSolution.getUtilities(), childUtility));
+                }
+            }
+
+            // A child already in the population is mutated again, and dropped if it is still a duplicate
+            if (diversityControl) {
+                for (int retry = 0; retry < Constants.DUPLICATE_RETRIES && newPopulation.contains(newSolution); retry++) {
+                    newSolution.mutation();
+                    evaluationNumber++;
+                }
+                if (newPopulation.contains(newSolution)) {
+                    rejectedNumber++;
+                    continue;
                 }
-                newPopulation.getSolutions()[i] = newSolution;
             }
-            population = newPopulation;
-            solution[tour][gen] = newPopulation.getBestSolution();
+            newPopulation.setSolution(i, newSolution);
         }
-        return population.getBestSolution();
+        population = newPopulation;
+
+        if (diversityControl) {
+            double diversity = population.getDiversity();
+            if (generation < diversityHistory.length) {
+                diversityHistory[generation] = diversity;
+            }
+            if (diversity < Constants.DIVERSITY_THRESHOLD) {
+                restart(elitists, repairMethod);
+            }
+        }
+        generation++;
+    }
+
+    /**
+     * Replaces all the solutions except the elitists by random ones, when the population has lost its diversity.
+     * @param elitists      the number of solutions to keep
+     * @param repairMethod  repair method to use in the new solutions
+     */
+    private void restart(int elitists, String repairMethod) {
+        String repair = repairMethod.equals(Constants.ADAPTIVE) ? population.getRepairMethod() : repairMethod;
+        for (int i = elitists; i < population.solutionLength(); i++) {
+            Solution solution = new Solution(population.getItems(), population.getBudgets(), repair);
+            solution.initializeRandomly();
+            population.setSolution(i, solution);
+            evaluationNumber++;
+        }
+        restartNumber++;
+    }
+
+    /**
+     * Rejects or mutates again the children already in the population, and restarts the population
+     * when its diversity is below Constants.DIVERSITY_THRESHOLD.
+     * @param diversityControl  true to control the diversity, else false
+     */
+    public void setDiversityControl(boolean diversityControl) {
+        this.diversityControl = diversityControl;
+    }
+
+    /**
+     * Gets the diversity of the population after each generation run with diversity control
+     * (see Population.getDiversity()), 0 for the other generations.
+     * @return the diversity of each generation, indexed by generation
+     */
+    public double[] getDiversityHistory() {
+        return diversityHistory;
+    }
+
+    /**
+     * Gets the number of solutions evaluated by the generations: children, mutations, mutations of duplicates
+     * and random solutions of the restarts, each of them repaired and evaluated again.
+     * @return the number of evaluations
+     */
+    public long getEvaluationNumber() {
+        return evaluationNumber;
+    }
+
+    public int getRejectedNumber() {
+        return rejectedNumber;
+    }
+
+    public int getRestartNumber() {
+        return restartNumber;
+    }
+
+    /**
+     * Sends the statistics of each generation to a buffer, read by a live display.
+     * The buffer has only one writer: it must not be given to two genetic algorithms running at the same time.
+     * @param statistics    the buffer to write in, or null to send nothing
+     */
+    public void setStatistics(StatisticsBuffer statistics) {
+        this.statistics = statistics;
+    }
+
+    public OperatorBandit getMutationBandit() {
+        return mutationBandit;
+    }
+
+    public OperatorBandit getCrossoverBandit() {
+        return crossoverBandit;
+    }
+
+    public OperatorBandit getRepairBandit() {
+        return repairBandit;
+    }
+
+    public Population getPopulation() {
+        return population;
     }
 
     public static void solveMulti(){
+        solveMulti(null);
+    }
+
+    /**
+     * Runs all the combinations of methods MULTI times, one run after the other.
+     * @param statistics    the buffer receiving the statistics of the current run, or null to send nothing
+     */
+    public static void solveMulti(StatisticsBuffer statistics){
         solution = new Solution[Constants.MULTI][Constants.GENERATIONS];
         meanValue = new double[Constants.METHOD_NUMBER][Constants.GENERATIONS];
         standardDeviationValue = new double[Constants.METHOD_NUMBER][Constants.GENERATIONS];
@@ -250,6 +457,7 @@ public class GeneticAlgorithm {
                         for(int i = 0; i<Constants.MULTI; i++) {
                             Population population = new Population(Constants.SOLUTION_NUMBER, items, budgets, repair);
                             GeneticAlgorithm ga = new GeneticAlgorithm(population);
+                            ga.setStatistics(statistics);
                             long startTime = System.nanoTime();
                             Solution bestSolution = ga.solve(mutation, crossover, repair, selection, i);
                             long endTime = System.nanoTime();
@@ -0,0 +1,338 @@
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * The InstanceGenerator class generates benchmark instances with the Chu-Beasley scheme:
+ * costs are integers drawn in [0, 1000], the utility of an item is correlated to its costs
+ * (integer part of mean cost + 500 * q, with q in [0, 1]) and each budget is the tightness ratio times the sum of the costs.
+ * Items are generated by chunks in parallel, each chunk with its own random stream split from the seed,
+ * so the same seed always gives the same instance.
+ */
+public class InstanceGenerator {
+    private static final int MAX_COST = 1000;
+    private static final double UTILITY_NOISE = 500.0;
+
+    /**
+     * The Instance class contains the items and the budgets of an instance read from a file.
+     */
+    public static class Instance {
+        private final Item[] items;
+        private final double[] budgets;
+
+        private Instance(Item[] items, double[] budgets) {
+            this.items = items;
+            this.budgets = budgets;
+        }
+
+        public Item[] getItems() {
+            return items;
+        }
+
+        public double[] getBudgets() {
+            return budgets;
+        }
+    }
+
+    private final int itemNumber;
+    private final int constraintNumber;
+    private final double tightness;
+    private final long seed;
+
+    /**
+     * Constructs an InstanceGenerator.
+     * @param itemNumber        the number of items
+     * @param constraintNumber  the number of constraints
+     * @param tightness         the ratio of the sum of the costs given as budget, between 0 and 1
+     * @param seed              the seed of the random streams
+     */
+    public InstanceGenerator(int itemNumber, int constraintNumber, double tightness, long seed) {
+        this.itemNumber = itemNumber;
+        this.constraintNumber = constraintNumber;
+        this.tightness = tightness;
+        this.seed = seed;
+    }
+
+    /**
+     * Generates the items of the instance.
+     * @return the items
+     */
+    public Item[] generateItems() {
+        Item[] items = new Item[itemNumber];
+        SplittableRandom[] streams = splitStreams();
+        IntStream.range(0, streams.length).parallel().forEach(chunk -> {
+            int first = chunk * Constants.GENERATOR_CHUNK;
+            int last = Math.min(first + Constants.GENERATOR_CHUNK, itemNumber);
+            int[] costs = new int[constraintNumber];
+            for (int i = first; i < last; i++) {
+                double utility = generateItem(streams[chunk], costs);
+                double[] itemCosts = new double[constraintNumber];
+                for (int j = 0; j < constraintNumber; j++) {
+                    itemCosts[j] = costs[j];
+                }
+                items[i] = new Item(utility, itemCosts);
+            }
+        });
+        return items;
+    }
+
+    /**
+     * Calculates the budgets of the generated items: the tightness ratio times the sum of the costs.
+     * @param items the items of the instance
+     * @return the budgets
+     */
+    public double[] generateBudgets(Item[] items) {
+        double[] budgets = new double[constraintNumber];
+        for (Item item : items) {
+            item.addCostsTo(budgets, 1);
+        }
+        for (int j = 0; j < constraintNumber; j++) {
+            budgets[j] = Math.floor(tightness * budgets[j]);
+        }
+        return budgets;
+    }
+
+    /**
+     * Writes the instance in binary: the item and constraint numbers, then for each item its utility
+     * and its costs, then the budgets. Chunks are generated in parallel by batches and written in order,
+     * so the whole instance is never in memory.
+     * @param path  the file to write
+     * @throws IOException if the file can not be written
+     */
+    public void writeBinary(Path path) throws IOException {
+        SplittableRandom[] streams = splitStreams();
+        int batch = Runtime.getRuntime().availableProcessors() * 4;
+        long[] sums = new long[constraintNumber];
+
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16))) {
+            output.writeInt(itemNumber);
+            output.writeInt(constraintNumber);
+            for (int start = 0; start < streams.length; start += batch) {
+                int first = start;
+                int end = Math.min(start + batch, streams.length);
+                int[][] chunkCosts = new int[end - first][];
+                double[][] chunkUtilities = new double[end - first][];
+                IntStream.range(first, end).parallel().forEach(chunk -> {
+                    int size = Math.min(Constants.GENERATOR_CHUNK, itemNumber - chunk * Constants.GENERATOR_CHUNK);
+                    chunkCosts[chunk - first] = new int[size * constraintNumber];
+                    chunkUtilities[chunk - first] = new double[size];
+                    generateChunk(streams[chunk], chunkUtilities[chunk - first], chunkCosts[chunk - first]);
+                });
+
+                for (int c = 0; c < chunkCosts.length; c++) {
+                    for (int i = 0; i < chunkUtilities[c].length; i++) {
+                        output.writeDouble(chunkUtilities[c][i]);
+                        for (int j = 0; j < constraintNumber; j++) {
+                            int cost = chunkCosts[c][i * constraintNumber + j];
+                            output.writeInt(cost);
+                            sums[j] += cost;
+                        }
+                    }
+                }
+            }
+            for (int j = 0; j < constraintNumber; j++) {
+                output.writeDouble(Math.floor(tightness * sums[j]));
+            }
+        }
+    }
+
+    /**
+     * Writes the instance in the OR-Library mknap format as a file of one problem: "1", then "n m 0",
+     * the utilities, one line of costs per constraint, then the budgets. The costs of a constraint are needed for all the items before the next constraint,
+     * so the random streams of the chunks are split again and replayed once per constraint, keeping only its costs.
+     * Only one batch of chunks is in memory at a time.
+     * @param path  the file to write
+     * @throws IOException if the file can not be written
+     */
+    public void writeOrLibrary(Path path) throws IOException {
+        long[] sums = new long[constraintNumber];
+
+        try (PrintWriter output = new PrintWriter(new BufferedWriter(Files.newBufferedWriter(path), 1 << 16))) {
+            output.println(1);
+            output.println(itemNumber + " " + constraintNumber + " 0");
+            for (int j = -1; j < constraintNumber; j++) {
+                // The first pass writes the utilities, each next one the costs of constraint j
+                int constraint = j;
+                SplittableRandom[] streams = splitStreams();
+                int batch = Runtime.getRuntime().availableProcessors() * 4;
+                for (int start = 0; start < streams.length; start += batch) {
+                    int first = start;
+                    int end = Math.min(start + batch, streams.length);
+                    double[][] chunkValues = new double[end - first][];
+                    IntStream.range(first, end).parallel().forEach(chunk -> {
+                        int size = Math.min(Constants.GENERATOR_CHUNK, itemNumber - chunk * Constants.GENERATOR_CHUNK);
+                        double[] values = new double[size];
+                        int[] itemCosts = new int[constraintNumber];
+                        for (int i = 0; i < size; i++) {
+                            double utility = generateItem(streams[chunk], itemCosts);
+                            values[i] = (constraint < 0) ? utility : itemCosts[constraint];
+                        }
+                        chunkValues[chunk - first] = values;
+                    });
+
+                    for (int c = 0; c < chunkValues.length; c++) {
+                        for (int i = 0; i < chunkValues[c].length; i++) {
+                            long value = (long) chunkValues[c][i];
+                            if (constraint >= 0) {
+                                sums[constraint] += value;
+                            }
+                            output.print(value);
+                            output.print((first + c) * Constants.GENERATOR_CHUNK + i + 1 < itemNumber ? ' ' : '\n');
+                        }
+                    }
+                }
+            }
+            for (int j = 0; j < constraintNumber; j++) {
+                output.print((long) Math.floor(tightness * sums[j]));
+                output.print(j + 1 < constraintNumber ? ' ' : '\n');
+            }
+        }
+    }
+
+    /**
+     * Reads an instance written by writeBinary, item after item.
+     * @param path  the file to read
+     * @return the instance
+     * @throws IOException if the file can not be read
+     */
+    public static Instance readBinary(Path path) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            int itemNumber = input.readInt();
+            int constraintNumber = input.readInt();
+            Item[] items = new Item[itemNumber];
+            for (int i = 0; i < itemNumber; i++) {
+                double utility = input.readDouble();
+                double[] costs = new double[constraintNumber];
+                for (int j = 0; j < constraintNumber; j++) {
+                    costs[j] = input.readInt();
+                }
+                items[i] = new Item(utility, costs);
+            }
+            double[] budgets = new double[constraintNumber];
+            for (int j = 0; j < constraintNumber; j++) {
+                budgets[j] = input.readDouble();
+            }
+            return new Instance(items, budgets);
+        }
+    }
+
+    /**
+     * Reads the first problem of a file in the OR-Library mknap format.
+     * @param path  the file to read
+     * @return the instance
+     * @throws IOException if the file can not be read
+     */
+    public static Instance readOrLibrary(Path path) throws IOException {
+        return readOrLibrary(path, 0);
+    }
+
+    /**
+     * Reads a problem of a file in the OR-Library mknap format (the number of problems, then for each problem
+     * "n m optimum", the utilities, one line of costs per constraint and the budgets), number after number.
+     * The problems before are skipped, and the costs are read into the arrays of the items before building them.
+     * @param path      the file to read
+     * @param problem   the index of the problem to read, from 0
+     * @return the instance
+     * @throws IOException if the file can not be read
+     */
+    public static Instance readOrLibrary(Path path, int problem) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path)) {
+            StreamTokenizer tokenizer = new StreamTokenizer(reader);
+            tokenizer.resetSyntax();
+            tokenizer.wordChars('!', '~');
+            tokenizer.whitespaceChars(0, ' ');
+            int problemNumber = (int) nextNumber(tokenizer);
+            if (problem < 0 || problem >= problemNumber) {
+                throw new IllegalStateException("Problem Not Found !!");
+            }
+            for (int p = 0; p < problem; p++) {
+                long skipped = (long) nextNumber(tokenizer);
+                int skippedConstraints = (int) nextNumber(tokenizer);
+                nextNumber(tokenizer);
+                for (long k = skipped * (1 + skippedConstraints) + skippedConstraints; k > 0; k--) {
+                    nextNumber(tokenizer);
+                }
+            }
+            int itemNumber = (int) nextNumber(tokenizer);
+            int constraintNumber = (int) nextNumber(tokenizer);
+            nextNumber(tokenizer);      // Optimum, 0 if unknown
+
+            double[] utilities = new double[itemNumber];
+            for (int i = 0; i < itemNumber; i++) {
+                utilities[i] = nextNumber(tokenizer);
+            }
+            double[][] costs = new double[itemNumber][constraintNumber];
+            for (int j = 0; j < constraintNumber; j++) {
+                for (int i = 0; i < itemNumber; i++) {
+                    costs[i][j] = nextNumber(tokenizer);
+                }
+            }
+            double[] budgets = new double[constraintNumber];
+            for (int j = 0; j < constraintNumber; j++) {
+                budgets[j] = nextNumber(tokenizer);
+            }
+
+            Item[] items = new Item[itemNumber];
+            for (int i = 0; i < itemNumber; i++) {
+                items[i] = new Item(utilities[i], costs[i]);
+                costs[i] = null;
+            }
+            return new Instance(items, budgets);
+        }
+    }
+
+    private static double nextNumber(StreamTokenizer tokenizer) throws IOException {
+        if (tokenizer.nextToken() != StreamTokenizer.TT_WORD) {
+            throw new IllegalStateException("Instance Not Valid !!");
+        }
+        try {
+            return Double.parseDouble(tokenizer.sval);
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Instance Not Valid !!", e);
+        }
+    }
+
+    /**
+     * Generates the items of a chunk, in item order.
+     * @param random    the random stream of the chunk
+     * @param utilities receives the utility of each item
+     * @param costs     receives the costs of each item, item after item
+     */
+    private void generateChunk(SplittableRandom random, double[] utilities, int[] costs) {
+        int[] itemCosts = new int[constraintNumber];
+        for (int i = 0; i < utilities.length; i++) {
+            utilities[i] = generateItem(random, itemCosts);
+            System.arraycopy(itemCosts, 0, costs, i * constraintNumber, constraintNumber);
+        }
+    }
+
+    /**
+     * Generates the costs of one item and returns its correlated utility.
+     * @param random    the random stream of the chunk
+     * @param costs     receives the costs of the item
+     * @return the utility of the item
+     */
+    private double generateItem(SplittableRandom random, int[] costs) {
+        long sum = 0;
+        for (int j = 0; j < constraintNumber; j++) {
+            costs[j] = random.nextInt(MAX_COST + 1);
+            sum += costs[j];
+        }
+        return Math.floor((double) sum / constraintNumber + UTILITY_NOISE * random.nextDouble());
+    }
+
+    /**
+     * Splits one random stream per chunk from the seed, always in the same order.
+     * @return the random streams of the chunks
+     */
+    private SplittableRandom[] splitStreams() {
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] streams = new SplittableRandom[(itemNumber + Constants.GENERATOR_CHUNK - 1) / Constants.GENERATOR_CHUNK];
+        for (int chunk = 0; chunk < streams.length; chunk++) {
+            streams[chunk] = root.split();
+        }
+        return streams;
+    }
+}
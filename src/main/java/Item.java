@@ -1,23 +1,70 @@
+import java.util.Arrays;
 import java.util.Random;
 
 /**
  * The Item class represents an object with associated utility and costs.
+ * When few constraints are used by the item, only the nonzero costs are stored with their constraint index,
+ * so costs are updated and checked only on these constraints.
  */
 public class Item {
     private final double utility;
-    private final double[] costs;
+    private final int constraintNumber;
+    private final double[] costs;           // Dense costs, null if the item is sparse
+    private final int[] constraints;        // Sorted indexes of the nonzero costs, null if the item is dense
+    private final double[] nonZeroCosts;    // Nonzero costs, in the order of constraints
+    private final double costSum;
     /*private static final long SEED = 12345L;
     private static final Random RANDOM = new Random(SEED); */// Use for the report
     private static final Random RANDOM = new Random();
 
     /**
      * Constructs an Item with the specified utility and costs.
+     * The item is stored sparse if the ratio of nonzero costs is below Constants.SPARSE_DENSITY.
      * @param utility   the utility of the item
      * @param costs     an array of costs for different constraints
      */
     public Item(double utility, double[] costs) {
         this.utility = utility;
-        this.costs = costs;
+        this.constraintNumber = costs.length;
+        int nonZero = 0;
+        for (double cost : costs) {
+            if (cost != 0.0) {
+                nonZero++;
+            }
+        }
+
+        if (nonZero < costs.length * Constants.SPARSE_DENSITY) {
+            this.costs = null;
+            this.constraints = new int[nonZero];
+            this.nonZeroCosts = new double[nonZero];
+            for (int j = 0, k = 0; j < costs.length; j++) {
+                if (costs[j] != 0.0) {
+                    constraints[k] = j;
+                    nonZeroCosts[k++] = costs[j];
+                }
+            }
+        } else {
+            this.costs = costs;
+            this.constraints = null;
+            this.nonZeroCosts = null;
+        }
+        this.costSum = Arrays.stream(costs).sum();
+    }
+
+    /**
+     * Constructs a sparse Item with only its nonzero costs.
+     * @param utility           the utility of the item
+     * @param constraintNumber  the number of constraints of the instance
+     * @param constraints       the sorted indexes of the nonzero costs
+     * @param nonZeroCosts      the nonzero costs
+     */
+    public Item(double utility, int constraintNumber, int[] constraints, double[] nonZeroCosts) {
+        this.utility = utility;
+        this.constraintNumber = constraintNumber;
+        this.costs = null;
+        this.constraints = constraints;
+        this.nonZeroCosts = nonZeroCosts;
+        this.costSum = Arrays.stream(nonZeroCosts).sum();
     }
 
     /**
@@ -40,15 +87,144 @@ public class Item {
         return items;
     }
 
+    /**
+     * Adds the costs of the item to total costs.
+     * @param totalCosts    the total costs to modify
+     * @param factor        the factor to apply (1 to add, -1 to remove)
+     */
+    public void addCostsTo(double[] totalCosts, int factor) {
+        if (costs != null) {
+            for (int j = 0; j < costs.length; j++) {
+                totalCosts[j] += factor * costs[j];
+            }
+        } else {
+            for (int k = 0; k < constraints.length; k++) {
+                totalCosts[constraints[k]] += factor * nonZeroCosts[k];
+            }
+        }
+    }
+
+    /**
+     * Adds the costs of the item to total costs and counts the constraints which change of state.
+     * Only the nonzero costs of a sparse item are updated and checked.
+     * @param totalCosts    the total costs to modify
+     * @param budgets       the budget constraints
+     * @param factor        the factor to apply (1 to add, -1 to remove)
+     * @return the number of constraints newly over budget minus the number of constraints back within budget
+     */
+    public int addCostsTo(double[] totalCosts, double[] budgets, int factor) {
+        int change = 0;
+        if (costs != null) {
+            for (int j = 0; j < costs.length; j++) {
+                change += updateCost(totalCosts, budgets, j, factor * costs[j]);
+            }
+        } else {
+            for (int k = 0; k < constraints.length; k++) {
+                change += updateCost(totalCosts, budgets, constraints[k], factor * nonZeroCosts[k]);
+            }
+        }
+        return change;
+    }
+
+    private static int updateCost(double[] totalCosts, double[] budgets, int j, double cost) {
+        boolean violated = totalCosts[j] > budgets[j];
+        totalCosts[j] += cost;
+        if (violated == (totalCosts[j] > budgets[j])) {
+            return 0;
+        }
+        return violated ? -1 : 1;
+    }
+
+    /**
+     * Checks if adding the item to total costs stays within the budgets.
+     * @param totalCosts    the current total costs
+     * @param budgets       the budget constraints
+     * @return true if the resulting costs are within budget, else false
+     */
+    public boolean fitsIn(double[] totalCosts, double[] budgets) {
+        if (costs != null) {
+            for (int j = 0; j < costs.length; j++) {
+                if (totalCosts[j] + costs[j] > budgets[j]) {
+                    return false;
+                }
+            }
+        } else {
+            for (int k = 0; k < constraints.length; k++) {
+                if (totalCosts[constraints[k]] + nonZeroCosts[k] > budgets[constraints[k]]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Calculates the weighted sum of the costs of the item.
+     * @param weights   the weight of each constraint
+     * @return the weighted sum of the costs
+     */
+    public double getWeightedCost(double[] weights) {
+        double sum = 0.0;
+        if (costs != null) {
+            for (int j = 0; j < costs.length; j++) {
+                sum += weights[j] * costs[j];
+            }
+        } else {
+            for (int k = 0; k < constraints.length; k++) {
+                sum += weights[constraints[k]] * nonZeroCosts[k];
+            }
+        }
+        return sum;
+    }
+
     public double getUtility() {
         return utility;
     }
 
+    /**
+     * Gets the costs of the item for all the constraints. A sparse item builds a new dense array.
+     * @return an array of costs for different constraints
+     */
     public double[] getCosts() {
-        return costs;
+        if (costs != null) {
+            return costs;
+        }
+        double[] dense = new double[constraintNumber];
+        for (int k = 0; k < constraints.length; k++) {
+            dense[constraints[k]] = nonZeroCosts[k];
+        }
+        return dense;
     }
 
     public double getCost(int index) {
-        return costs[index];
+        if (costs != null) {
+            return costs[index];
+        }
+        int k = Arrays.binarySearch(constraints, index);
+        return (k >= 0) ? nonZeroCosts[k] : 0.0;
+    }
+
+    public double getCostSum() {
+        return costSum;
+    }
+
+    public boolean isSparse() {
+        return costs == null;
+    }
+
+    /**
+     * Gets the sorted indexes of the nonzero costs of a sparse item.
+     * @return the constraint indexes, or null if the item is dense
+     */
+    public int[] getConstraints() {
+        return constraints;
+    }
+
+    /**
+     * Gets the nonzero costs of a sparse item, in the order of getConstraints().
+     * @return the nonzero costs, or null if the item is dense
+     */
+    public double[] getNonZeroCosts() {
+        return nonZeroCosts;
     }
 }
@@ -0,0 +1,85 @@
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.ChartPanel;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * The LiveGraph class shows the convergence of the current run while the genetic algorithm is running.
+ * A Swing timer reads the statistics from the buffer by batches, so the solver never waits for the display.
+ */
+public class LiveGraph extends JFrame {
+    private final StatisticsBuffer statistics;
+    private final XYSeries bestSeries = new XYSeries("Meilleure");
+    private final XYSeries meanSeries = new XYSeries("Moyenne");
+    private final JFreeChart chart;
+    private final Timer timer;
+    private int lastGeneration = -1;
+    private int run = 0;
+
+    /**
+     * Constructs a LiveGraph reading the specified buffer.
+     * @param title         the title of the window
+     * @param statistics    the buffer written by the genetic algorithm
+     */
+    public LiveGraph(String title, StatisticsBuffer statistics) {
+        super(title);
+        this.statistics = statistics;
+
+        XYSeriesCollection dataset = new XYSeriesCollection();
+        dataset.addSeries(bestSeries);
+        dataset.addSeries(meanSeries);
+        chart = ChartFactory.createXYLineChart(
+                title,
+                "Génération",
+                "Utilité",
+                dataset,
+                PlotOrientation.VERTICAL,
+                true, true, false);
+
+        chart.getPlot().setBackgroundPaint(Color.WHITE);
+        ChartPanel panel = new ChartPanel(chart);
+        panel.setPreferredSize(new Dimension(800, 600));
+        setContentPane(panel);
+
+        setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
+        timer = new Timer(Constants.LIVE_REFRESH_DELAY, e -> refresh());
+        timer.start();
+    }
+
+    /**
+     * Stops reading the buffer when the window is closed.
+     */
+    @Override
+    public void dispose() {
+        timer.stop();
+        super.dispose();
+    }
+
+    /**
+     * Reads the new statistics and redraws the chart once.
+     */
+    private void refresh() {
+        int read = statistics.drain(Constants.LIVE_BUFFER_SIZE, (generation, best, mean) -> {
+            // A smaller generation means a new run has started
+            if (generation <= lastGeneration) {
+                bestSeries.clear();
+                meanSeries.clear();
+                run++;
+            }
+            lastGeneration = generation;
+            bestSeries.add(generation, best, false);
+            meanSeries.add(generation, mean, false);
+        });
+
+        if (read > 0) {
+            chart.setTitle(getTitle() + " - Exécution " + (run + 1));
+            bestSeries.fireSeriesChanged();
+            meanSeries.fireSeriesChanged();
+        }
+    }
+}
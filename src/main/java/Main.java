@@ -2,7 +2,15 @@ import javax.swing.*;
 
 public class Main {
     public static void main(String[] args) {
-        GeneticAlgorithm.solveMulti();
+        StatisticsBuffer statistics = new StatisticsBuffer(Constants.LIVE_BUFFER_SIZE);
+        SwingUtilities.invokeLater(() -> {
+            LiveGraph live = new LiveGraph("Convergence en direct", statistics);
+            live.setSize(800, 600);
+            live.setLocationRelativeTo(null);
+            live.setVisible(true);
+        });
+
+        GeneticAlgorithm.solveMulti(statistics);
         SwingUtilities.invokeLater(() -> {
             Graph example = new Graph("Algorithme Genetique");
             example.setSize(800, 600);
@@ -0,0 +1,94 @@
+/**
+ * The OperatorBandit class chooses an operator among several ones with the UCB1 multi-armed bandit.
+ * Each operator is rewarded by the improvement of the solutions it creates, so the operators which work best
+ * on the instance are used more often, while the others are still tried from time to time.
+ */
+public class OperatorBandit {
+    private final String[] operators;
+    private final long[] usages;
+    private final double[] rewards;
+    private long totalUsage;
+
+    /**
+     * Constructs an OperatorBandit choosing among the specified operators.
+     * @param operators the names of the operators
+     */
+    public OperatorBandit(String[] operators) {
+        this.operators = operators;
+        this.usages = new long[operators.length];
+        this.rewards = new double[operators.length];
+    }
+
+    /**
+     * Chooses the operator with the highest upper confidence bound. Operators never used are chosen first.
+     * The mean rewards are divided by the best one, because improvements are often very small.
+     * @return the index of the chosen operator
+     */
+    public int choose() {
+        double maxReward = 0.0;
+        for (int i = 0; i < operators.length; i++) {
+            if (usages[i] == 0) {
+                return i;
+            }
+            maxReward = Math.max(maxReward, getMeanReward(i));
+        }
+
+        int best = 0;
+        double bestBound = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < operators.length; i++) {
+            double reward = (maxReward > 0.0) ? getMeanReward(i) / maxReward : 0.0;
+            double bound = reward + Constants.UCB_EXPLORATION * Math.sqrt(2 * Math.log(totalUsage) / usages[i]);
+            if (bound > bestBound) {
+                bestBound = bound;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Records the reward of an operator after it was used.
+     * @param operator  the index of the operator
+     * @param reward    the reward, between 0 and 1
+     */
+    public void reward(int operator, double reward) {
+        usages[operator]++;
+        rewards[operator] += reward;
+        totalUsage++;
+    }
+
+    /**
+     * Calculates the reward of a new solution: its relative improvement over a reference utility, between 0 and 1.
+     * @param utility       the utility of the new solution
+     * @param reference     the utility to improve
+     * @return the reward
+     */
+    public static double improvement(double utility, double reference) {
+        if (reference <= 0.0) {
+            return (utility > reference) ? 1.0 : 0.0;
+        }
+        return Math.max(0.0, Math.min(1.0, (utility - reference) / reference));
+    }
+
+    public String getOperator(int operator) {
+        return operators[operator];
+    }
+
+    public long getUsage(int operator) {
+        return usages[operator];
+    }
+
+    public double getMeanReward(int operator) {
+        return (usages[operator] == 0) ? 0.0 : rewards[operator] / usages[operator];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < operators.length; i++) {
+            builder.append(operators[i]).append(" : ").append(usages[i]).append(" utilisations, récompense moyenne ")
+                    .append(getMeanReward(i)).append('\n');
+        }
+        return builder.toString();
+    }
+}
@@ -1,4 +1,5 @@
 import java.util.*;
+import java.util.stream.IntStream;
 
 /**
  * The Population class represents a population of solutions for the genetic algorithm.
@@ -8,30 +9,172 @@ public class Population {
     private final Item[] items;
     private final double[] budgets;
     private final String repairMethod;
+    private final String initializationMethod;
+    private final Map<Long, Integer> fingerprints = new HashMap<>();    // Number of solutions of each fingerprint
+    private final int[] alleles;                                        // Number of solutions selecting each item
 
     /**
      * Constructs a Population with the specified size, items, and budgets.
      * @param size          the number of solutions in the population
      * @param items         an array of items
      * @param budgets       an array of budget constraints
-     * @param repairMethod  repair method to use in solutions
+     * @param repairMethod  repair method to use in solutions, Constants.ADAPTIVE uses the first of Constants.REPAIRS
      */
     public Population(int size, Item[] items, double[] budgets, String repairMethod) {
+        this(size, items, budgets, repairMethod, "random");
+    }
+
+    /**
+     * Constructs a Population with the specified size, items, budgets and initialization method.
+     * @param size                  the number of solutions in the population
+     * @param items                 an array of items
+     * @param budgets               an array of budget constraints
+     * @param repairMethod          repair method to use in solutions, Constants.ADAPTIVE uses the first of Constants.REPAIRS
+     * @param initializationMethod  initialization method of the solutions (see Constants.INITIALIZATIONS)
+     */
+    public Population(int size, Item[] items, double[] budgets, String repairMethod, String initializationMethod) {
         this.items = items;
         this.budgets = budgets;
         this.solutions = new Solution[size];
-        this.repairMethod = repairMethod;
+        this.repairMethod = concreteRepair(repairMethod);
+        this.initializationMethod = initializationMethod;
+        this.alleles = new int[items.length];
         initialize();
+        for (Solution solution : solutions) {
+            track(solution, 1);
+        }
+    }
+
+    /**
+     * Constructs a Population from already built solutions, without initializing them.
+     * @param solutions     the solutions of the population
+     * @param items         an array of items
+     * @param budgets       an array of budget constraints
+     * @param repairMethod  repair method to use in solutions
+     */
+    public Population(Solution[] solutions, Item[] items, double[] budgets, String repairMethod) {
+        this.items = items;
+        this.budgets = budgets;
+        this.solutions = solutions;
+        this.repairMethod = concreteRepair(repairMethod);
+        this.initializationMethod = "random";
+        this.alleles = new int[items.length];
+        for (Solution solution : solutions) {
+            track(solution, 1);
+        }
+    }
+
+    /**
+     * Gets the repair method the solutions use by themselves. An adaptive repair is chosen by the genetic algorithm
+     * for each child, so the solutions of the population use the first repair method.
+     * @param repairMethod  the repair method asked for the population
+     * @return a repair method known by the solutions
+     */
+    private static String concreteRepair(String repairMethod) {
+        return repairMethod.equals(Constants.ADAPTIVE) ? Constants.REPAIRS[0] : repairMethod;
     }
 
     /**
-     * Initializes the population with random solutions.
+     * Initializes the population in parallel with the initialization method:
+     * "random" draws each item with probability 0.5 and repairs,
+     * "greedy" builds the first solution greedily by pseudo-utility ratio and the others randomly,
+     * "grasp" builds each solution with a randomized greedy construction,
+     * "lpRounding" rounds the LP relaxation of a random surrogate constraint and repairs.
+     * Each solution has its own seed drawn from the generator of the calling thread, so a seeded run
+     * gives the same population whatever the threads.
      */
     private void initialize() {
-        for (int i = 0; i < solutions.length; i++) {
-            solutions[i] = new Solution(items, budgets,repairMethod);
-            solutions[i].initializeRandomly();
+        int[] order = initializationMethod.equals("greedy") || initializationMethod.equals("grasp")
+                ? Solution.sortByPseudoUtility(items, budgets) : null;
+        long[] seeds = new long[solutions.length];
+        for (int i = 0; i < seeds.length; i++) {
+            seeds[i] = SeededRandom.current().nextLong();
+        }
+
+        IntStream.range(0, solutions.length).parallel().forEach(i -> SeededRandom.runSeeded(seeds[i], () -> {
+            Solution solution = new Solution(items, budgets, repairMethod);
+            switch (initializationMethod) {
+                case "random" -> solution.initializeRandomly();
+                case "greedy" -> {
+                    if (i == 0) {
+                        solution.initializeGrasp(order, 1);
+                    } else {
+                        solution.initializeRandomly();
+                    }
+                }
+                case "grasp" -> solution.initializeGrasp(order, Constants.GRASP_RCL_SIZE);
+                case "lpRounding" -> solution.initializeLpRounding();
+                default -> throw new IllegalStateException("Initialization Not Found !!");
+            }
+            solutions[i] = solution;
+        }));
+    }
+
+    /**
+     * Replaces a solution of the population and updates the diversity statistics.
+     * @param index     the position of the solution to replace
+     * @param solution  the new solution
+     */
+    public void setSolution(int index, Solution solution) {
+        track(solutions[index], -1);
+        solutions[index] = solution;
+        track(solution, 1);
+    }
+
+    /**
+     * Adds or removes a solution from the fingerprints and the allele counts.
+     * @param solution  the solution to add or remove
+     * @param factor    the factor to apply (1 to add, -1 to remove)
+     */
+    private void track(Solution solution, int factor) {
+        fingerprints.merge(solution.fingerprint(), factor, (count, change) -> (count + change == 0) ? null : count + change);
+        int[] selection = solution.getSelection();
+        for (int i = 0; i < selection.length; i++) {
+            alleles[i] += factor * selection[i];
+        }
+    }
+
+    /**
+     * Checks if a solution with the same selection is already in the population.
+     * @param solution  the solution to test
+     * @return true if the selection is already in the population, else false
+     */
+    public boolean contains(Solution solution) {
+        return fingerprints.containsKey(solution.fingerprint());
+    }
+
+    /**
+     * Calculates the mean Hamming distance between two solutions of the population, divided by the number of items.
+     * Each item with k selections among n solutions differs in k * (n - k) pairs, so the allele counts are enough.
+     * @return the diversity, 0 if all the solutions are equal
+     */
+    public double getDiversity() {
+        long n = solutions.length;
+        if (n < 2 || alleles.length == 0) {
+            return 0.0;
         }
+        double differences = 0.0;
+        for (int count : alleles) {
+            differences += (double) count * (n - count);
+        }
+        return differences / (n * (n - 1) / 2.0) / alleles.length;
+    }
+
+    /**
+     * Gets the part of the population which selects an item.
+     * @param item  the index of the item
+     * @return the allele frequency, between 0 and 1
+     */
+    public double getAlleleFrequency(int item) {
+        return (double) alleles[item] / solutions.length;
+    }
+
+    /**
+     * Gets the number of different selections in the population.
+     * @return the number of distinct fingerprints
+     */
+    public int distinctNumber() {
+        return fingerprints.size();
     }
 
     /**
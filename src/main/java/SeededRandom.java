@@ -0,0 +1,41 @@
+import java.util.Random;
+
+/**
+ * The SeededRandom class gives each thread its own random generator, used by the genetic algorithm and the solutions.
+ * Threads never share a seed, and a run can be replayed by seeding the generator of its thread before it starts.
+ */
+public class SeededRandom {
+    private static final ThreadLocal<Random> CURRENT = ThreadLocal.withInitial(Random::new);
+
+    /**
+     * Gets the random generator of the current thread.
+     * @return the random generator
+     */
+    public static Random current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Seeds the random generator of the current thread.
+     * @param seed  the seed
+     */
+    public static void setSeed(long seed) {
+        CURRENT.set(new Random(seed));
+    }
+
+    /**
+     * Runs a task with a generator seeded for it, then gives the thread its generator back.
+     * Used by parallel tasks, so their result does not depend on the thread which runs them.
+     * @param seed  the seed of the task
+     * @param task  the task to run
+     */
+    public static void runSeeded(long seed, Runnable task) {
+        Random previous = CURRENT.get();
+        CURRENT.set(new Random(seed));
+        try {
+            task.run();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+}
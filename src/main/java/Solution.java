@@ -1,4 +1,5 @@
 import java.util.*;
+import java.util.stream.IntStream;
 
 /**
  * The Solution class represents a potential solution to the problem.
@@ -12,7 +13,7 @@ public class Solution {
     private final double[] budgets;
     private final double[] costs;
     private double utilities;
-    private static String repairMethod;
+    private String repairMethod;
 
     /**
      * Constructs a Solution with the specified items and budgets.
@@ -26,19 +27,136 @@ public class Solution {
         this.budgets = budgets;
         this.costs = new double[budgets.length];
         this.utilities = 0.0;
-        Solution.repairMethod = repairMethod;
+        this.repairMethod = repairMethod;
+    }
+
+    /**
+     * Constructs a Solution from a saved state, without repairing it.
+     * @param items         an array of items
+     * @param budgets       an array of budget constraints
+     * @param selection     the saved selection
+     * @param utilities     the saved total utilities
+     * @param costs         the saved total costs
+     * @param repairMethod  repair method to use
+     */
+    public Solution(Item[] items, double[] budgets, int[] selection, double utilities, double[] costs, String repairMethod){
+        this.items = items;
+        this.selection = selection;
+        this.budgets = budgets;
+        this.costs = costs;
+        this.utilities = utilities;
+        this.repairMethod = repairMethod;
     }
 
     /**
      * Initializes the solution randomly and repairs it to be valid.
      */
     public void initializeRandomly(){
+        Random random = SeededRandom.current();
         for(int i = 0; i < selection.length; i++){
-            selection[i] =(Math.random()<0.5) ? 0 : 1;
+            selection[i] = random.nextBoolean() ? 0 : 1;
+        }
+        chooseRepair();
+    }
+
+    /**
+     * Initializes the solution with the GRASP construction: the items are added one by one, each time chosen randomly
+     * among the rclSize best items which still fit, in the order of pseudo-utility ratio. The solution is valid
+     * without repair. With a rclSize of 1, it is the greedy construction.
+     * @param order     the item indexes sorted by decreasing pseudo-utility ratio
+     * @param rclSize   the size of the restricted candidate list
+     */
+    public void initializeGrasp(int[] order, int rclSize){
+        Random rand = SeededRandom.current();
+        boolean[] removed = new boolean[order.length];
+        int[] candidates = new int[rclSize];
+        int head = 0;
+
+        while (true) {
+            // Collect the first rclSize items which fit. Costs only increase, so an item which does not fit is removed.
+            int candidateNumber = 0;
+            for (int k = head; k < order.length && candidateNumber < rclSize; k++) {
+                if (removed[k]) {
+                    continue;
+                }
+                if (items[order[k]].fitsIn(costs, budgets)) {
+                    candidates[candidateNumber++] = k;
+                } else {
+                    removed[k] = true;
+                }
+            }
+            if (candidateNumber == 0) {
+                break;
+            }
+
+            int chosen = candidates[rand.nextInt(candidateNumber)];
+            removed[chosen] = true;
+            selection[order[chosen]] = 1;
+            items[order[chosen]].addCostsTo(costs, 1);
+            utilities += items[order[chosen]].getUtility();
+            while (head < order.length && removed[head]) {
+                head++;
+            }
+        }
+    }
+
+    /**
+     * Initializes the solution by rounding the LP relaxation of a surrogate constraint.
+     * The constraints are summed with random weights, the relaxation of this single constraint is solved by taking
+     * the items by decreasing ratio, and each item is selected with the probability of its value in the relaxation.
+     * The solution is then repaired to be valid.
+     */
+    public void initializeLpRounding(){
+        Random rand = SeededRandom.current();
+        double[] weights = new double[budgets.length];
+        double capacity = 0.0;
+        for (int j = 0; j < budgets.length; j++) {
+            weights[j] = (0.5 + rand.nextDouble()) / budgets[j];
+            capacity += weights[j] * budgets[j];
+        }
+
+        double[] ratios = new double[items.length];
+        double[] weightedCosts = new double[items.length];
+        Integer[] indexes = new Integer[items.length];
+        for (int i = 0; i < items.length; i++) {
+            weightedCosts[i] = items[i].getWeightedCost(weights);
+            ratios[i] = items[i].getUtility() / weightedCosts[i];
+            indexes[i] = i;
+        }
+        Arrays.sort(indexes, (j, k) -> Double.compare(ratios[k], ratios[j]));
+
+        // Items are taken whole until the capacity is reached, then a fraction of the next one
+        for (int i : indexes) {
+            double fraction = (weightedCosts[i] <= 0.0) ? 1.0 : Math.min(1.0, capacity / weightedCosts[i]);
+            if (fraction <= 0.0) {
+                break;
+            }
+            capacity -= fraction * weightedCosts[i];
+            selection[i] = (rand.nextDouble() < fraction) ? 1 : 0;
         }
         chooseRepair();
     }
 
+    /**
+     * Calculates the pseudo-utility ratio of each item: its utility divided by the sum of its costs relative to the budgets.
+     * @param items     an array of items
+     * @param budgets   an array of budget constraints
+     * @return the item indexes sorted by decreasing ratio
+     */
+    public static int[] sortByPseudoUtility(Item[] items, double[] budgets) {
+        double[] weights = new double[budgets.length];
+        for (int j = 0; j < budgets.length; j++) {
+            weights[j] = 1.0 / budgets[j];
+        }
+        double[] ratios = new double[items.length];
+        for (int i = 0; i < items.length; i++) {
+            ratios[i] = items[i].getUtility() / items[i].getWeightedCost(weights);
+        }
+        return IntStream.range(0, items.length).boxed()
+                .sorted((j, k) -> Double.compare(ratios[k], ratios[j]))
+                .mapToInt(Integer::intValue).toArray();
+    }
+
     /**
      * Calculates the total utilities based on the current selection.
      */
@@ -58,9 +176,7 @@ public class Solution {
         Arrays.fill(this.costs, 0);
         for(int i=0; i<selection.length; i++){
             if(selection[i] == 1){
-                for(int j=0; j<costs.length; j++){
-                    costs[j] += items[i].getCost(j);
-                }
+                items[i].addCostsTo(costs, 1);
             }
         }
     }
@@ -77,38 +193,53 @@ public class Solution {
     }
 
     /**
-     * Checks if adding costs exceeds the budget.
-     * @param costsArray the costs to test
-     * @return true if the resulting costs are within budget, else false
+     * Checks if the total costs are within the budget.
+     * @return true if the costs are within budget, else false
      */
-    private boolean checkCosts(double[] costsArray) {
-        for (int i = 0; i < costsArray.length; i++) {
-            if (this.costs[i] + costsArray[i] > this.budgets[i]) {
+    private boolean checkCosts() {
+        for (int i = 0; i < this.costs.length; i++) {
+            if (this.costs[i] > this.budgets[i]) {
                 return false;
             }
         }
         return true;
     }
 
+    /**
+     * Counts the constraints over budget.
+     * @return the number of violated constraints
+     */
+    private int countViolated() {
+        int violated = 0;
+        for (int i = 0; i < this.costs.length; i++) {
+            if (this.costs[i] > this.budgets[i]) {
+                violated++;
+            }
+        }
+        return violated;
+    }
+
     /**
      * Modifies items in the selection based on given indexes.
+     * When removing, the number of violated constraints is updated only on the constraints of the removed item.
      * @param indexes   the indexes of items to modify
      * @param factor    the factor to apply (1 to add, -1 to remove)
      */
     private void modifyItems(Integer[] indexes, int factor) {
+        int violated = (factor == -1) ? countViolated() : 0;
         for (int i : indexes) {
             //Remove item i and his cost from solution's cost
             if (factor == -1 && selection[i] == 1) {
                 selection[i] = 0;
-                modifyCosts(items[i].getCosts(), factor);
-                if(checkCosts(new double[costs.length])){
+                violated += items[i].addCostsTo(costs, budgets, factor);
+                if(violated == 0){
                     return;
                 }
             }
             //Add item i and his cost from solution's cost
-            else if (factor == 1 && selection[i] == 0 && checkCosts(items[i].getCosts())) {
+            else if (factor == 1 && selection[i] == 0 && items[i].fitsIn(costs, budgets)) {
                 selection[i] = 1;
-                modifyCosts(items[i].getCosts(), factor);
+                items[i].addCostsTo(costs, factor);
             }
         }
     }
@@ -124,7 +255,7 @@ public class Solution {
     }
 
     private static Solution chooseRepairNewSolution(Solution newSolution) {
-        switch (repairMethod) {
+        switch (newSolution.repairMethod) {
             case "repair" -> newSolution.repair();
             case "repairWeightedUtility" -> newSolution.repairWeightedUtility();
             default -> throw new IllegalStateException("Repair Not Found !!");
@@ -139,7 +270,7 @@ public class Solution {
      * Applies a mutation by changing a random coordinate from 1 to 0, or from 0 to 1, and repair it to be valid.
      */
     public void mutation() {
-        int index = (int) (Math.random() * selection.length);
+        int index = (int) (SeededRandom.current().nextDouble() * selection.length);
         selection[index] = 1 - selection[index];
         chooseRepair();
     }
@@ -148,11 +279,11 @@ public class Solution {
      * Applies a mutation by changing two value between two coordinates.
      */
     public void swapMutation() {
-        int index1 = (int) (Math.random() * selection.length);
+        int index1 = (int) (SeededRandom.current().nextDouble() * selection.length);
         int index2 = index1;
 
         while(selection[index1] == selection[index2]){
-            index2 = (int) (Math.random()*selection.length);
+            index2 = (int) (SeededRandom.current().nextDouble()*selection.length);
         }
 
         //Exchange items in the selection at position index1 and index2 value
@@ -167,8 +298,9 @@ public class Solution {
     public void flipMutation(double mutationRate) {
 
         // for each item, a small probabilities to mutate
+        Random random = SeededRandom.current();
         for (int i = 0; i < selection.length; i++) {
-            if (Math.random() < mutationRate) {
+            if (random.nextDouble() < mutationRate) {
                 selection[i] = 1 - selection[i];
             }
         }
@@ -183,11 +315,23 @@ public class Solution {
      * @return the new solution created from parents
      */
     public static Solution crossover(Solution father, Solution mother) {
-        Solution newSolution = new Solution(mother.items, mother.budgets, mother.repairMethod);
+        return crossover(father, mother, mother.repairMethod);
+    }
+
+    /**
+     * Same as crossover(father, mother), with the repair method of the new solution.
+     * @param father        one parent solution
+     * @param mother        another parent solution
+     * @param repairMethod  repair method to use
+     * @return the new solution created from parents
+     */
+    public static Solution crossover(Solution father, Solution mother, String repairMethod) {
+        Solution newSolution = new Solution(mother.items, mother.budgets, repairMethod);
 
         // The new solution has the same probability to have the item i from the father or from the mother for all the selection
+        Random random = SeededRandom.current();
         for (int i = 0; i < newSolution.getSelection().length; i++) {
-            newSolution.selection[i] = (Math.random() < 0.5) ? father.selection[i] : mother.selection[i];
+            newSolution.selection[i] = (random.nextDouble() < 0.5) ? father.selection[i] : mother.selection[i];
         }
 
         return chooseRepairNewSolution(newSolution);
@@ -201,12 +345,23 @@ public class Solution {
      * @return the new solution created from parents
      */
     public static Solution divideCrossover(Solution father, Solution mother) {
-        Solution newSolution = new Solution(mother.getItems(), mother.getBudgets(), mother.repairMethod);
+        return divideCrossover(father, mother, mother.repairMethod);
+    }
+
+    /**
+     * Same as divideCrossover(father, mother), with the repair method of the new solution.
+     * @param father        one parent solution
+     * @param mother        another parent solution
+     * @param repairMethod  repair method to use
+     * @return the new solution created from parents
+     */
+    public static Solution divideCrossover(Solution father, Solution mother, String repairMethod) {
+        Solution newSolution = new Solution(mother.getItems(), mother.getBudgets(), repairMethod);
         // The point which cut the selection by 2
-        int crossoverIndex = (int) (Math.random() * mother.getSelection().length);
+        int crossoverIndex = (int) (SeededRandom.current().nextDouble() * mother.getSelection().length);
 
         // Mother and father has the same probability to be the head or the tail of the selection
-        if(Math.random()<0.5){
+        if(SeededRandom.current().nextDouble()<0.5){
             for (int i = 0; i < crossoverIndex; i++) {
                 newSolution.getSelection()[i] = father.getSelection()[i];
             }
@@ -234,8 +389,19 @@ public class Solution {
      * @return the new solution created from parents
      */
     public static Solution shuffleCrossover(Solution father, Solution mother) {
-        Solution newSolution = new Solution(mother.items, mother.budgets,repairMethod);
-        Random random = new Random();
+        return shuffleCrossover(father, mother, mother.repairMethod);
+    }
+
+    /**
+     * Same as shuffleCrossover(father, mother), with the repair method of the new solution.
+     * @param father        one parent solution
+     * @param mother        another parent solution
+     * @param repairMethod  repair method to use
+     * @return the new solution created from parents
+     */
+    public static Solution shuffleCrossover(Solution father, Solution mother, String repairMethod) {
+        Solution newSolution = new Solution(mother.items, mother.budgets, repairMethod);
+        Random random = SeededRandom.current();
         int length = newSolution.getSelection().length;
 
         // Create a list of index and shuffle it value
@@ -261,7 +427,7 @@ public class Solution {
     public void repair() {
         calculateUtilities();
         calculateCosts();
-        if(checkCosts(new double[this.costs.length])){
+        if(checkCosts()){
             return;
         }
 
@@ -290,15 +456,14 @@ public class Solution {
     public void repairWeightedUtility() {
         calculateCosts();
         calculateUtilities();
-        if (checkCosts(new double[this.costs.length])) {
+        if (checkCosts()) {
             return;
         }
 
         // Calculate utility to cost ratios for each item
         double[] ratios = new double[selection.length];
         for (int i = 0; i < selection.length; i++) {
-            double costSum = Arrays.stream(items[i].getCosts()).sum();
-            ratios[i] = items[i].getUtility() / costSum;
+            ratios[i] = items[i].getUtility() / items[i].getCostSum();
         }
 
         Integer[] indexes = new Integer[selection.length];
@@ -318,6 +483,25 @@ public class Solution {
         calculateCosts();
     }
 
+    /**
+     * Calculates a 64-bit fingerprint of the selection, packed 64 items per word. Two equal selections
+     * have the same fingerprint, two different selections almost never.
+     * @return the fingerprint of the selection
+     */
+    public long fingerprint() {
+        long hash = selection.length;
+        long word = 0L;
+        for (int i = 0; i < selection.length; i++) {
+            word |= (long) selection[i] << (i & 63);
+            if ((i & 63) == 63 || i == selection.length - 1) {
+                hash = (hash ^ word) * 0x9E3779B97F4A7C15L;
+                hash ^= hash >>> 29;
+                word = 0L;
+            }
+        }
+        return hash;
+    }
+
     public int[] getSelection() {
         return selection;
     }
@@ -335,7 +519,7 @@ public class Solution {
     }
 
     public void setRepairMethod(String repairMethod) {
-        Solution.repairMethod = repairMethod;
+        this.repairMethod = repairMethod;
     }
 
     public double[] getCosts() {
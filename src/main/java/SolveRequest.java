@@ -0,0 +1,76 @@
+/**
+ * The SolveRequest class represents one knapsack instance to solve with the genetic algorithm,
+ * with the methods to use and the time budget of the request.
+ */
+public class SolveRequest {
+    private final Item[] items;
+    private final double[] budgets;
+    private final String mutationMethod;
+    private final String crossoverMethod;
+    private final String repairMethod;
+    private final String selectionMethod;
+    private final int populationSize;
+    private final int generations;
+    private final long timeBudget;
+
+    /**
+     * Constructs a SolveRequest with the specified instance and methods.
+     * @param items             an array of items
+     * @param budgets           an array of budget constraints
+     * @param mutationMethod    mutation method to use
+     * @param crossoverMethod   crossover method to use
+     * @param repairMethod      repair method to use
+     * @param selectionMethod   selection method to use
+     * @param populationSize    the number of solutions in the population
+     * @param generations       the maximum number of generations
+     * @param timeBudget        the maximum time to solve the request in milliseconds
+     */
+    public SolveRequest(Item[] items, double[] budgets, String mutationMethod, String crossoverMethod, String repairMethod,
+                        String selectionMethod, int populationSize, int generations, long timeBudget) {
+        this.items = items;
+        this.budgets = budgets;
+        this.mutationMethod = mutationMethod;
+        this.crossoverMethod = crossoverMethod;
+        this.repairMethod = repairMethod;
+        this.selectionMethod = selectionMethod;
+        this.populationSize = populationSize;
+        this.generations = generations;
+        this.timeBudget = timeBudget;
+    }
+
+    public Item[] getItems() {
+        return items;
+    }
+
+    public double[] getBudgets() {
+        return budgets;
+    }
+
+    public String getMutationMethod() {
+        return mutationMethod;
+    }
+
+    public String getCrossoverMethod() {
+        return crossoverMethod;
+    }
+
+    public String getRepairMethod() {
+        return repairMethod;
+    }
+
+    public String getSelectionMethod() {
+        return selectionMethod;
+    }
+
+    public int getPopulationSize() {
+        return populationSize;
+    }
+
+    public int getGenerations() {
+        return generations;
+    }
+
+    public long getTimeBudget() {
+        return timeBudget;
+    }
+}
@@ -0,0 +1,165 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * The SolveServer class exposes a SolveService over HTTP. Each exchange is handled by a virtual thread.
+ * POST /solve takes the budgets on the first line of the body and one item per line ("utility cost1 cost2 ..."),
+ * the methods and limits are given in the query (mutation, crossover, repair, selection, population, generations, budget).
+ * GET /stats returns the throughput and the latency percentiles of the service.
+ */
+public class SolveServer {
+    private final SolveService service;
+    private final HttpServer server;
+
+    /**
+     * Constructs a SolveServer listening on the specified port.
+     * @param service   the service which solves the requests
+     * @param port      the port to listen on
+     * @throws IOException if the port can not be opened
+     */
+    public SolveServer(SolveService service, int port) throws IOException {
+        this.service = service;
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.server.createContext("/solve", this::handleSolve);
+        this.server.createContext("/stats", this::handleStats);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        service.shutdown();
+    }
+
+    /**
+     * Solves the instance of the request and answers with the best solution found.
+     * @param exchange  the HTTP exchange
+     */
+    private void handleSolve(HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestMethod().equals("POST")) {
+            send(exchange, 405, "Method Not Allowed");
+            return;
+        }
+        SolveRequest request;
+        try {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            request = parseRequest(parseQuery(exchange.getRequestURI().getRawQuery()), body);
+        } catch (RuntimeException e) {
+            send(exchange, 400, "Bad Request : " + e.getMessage());
+            return;
+        }
+
+        try {
+            Solution best = service.submit(request).get();
+            StringBuilder selection = new StringBuilder();
+            for (int bit : best.getSelection()) {
+                selection.append(bit);
+            }
+            send(exchange, 200, "utilities " + best.getUtilities() + "\nselection " + selection + "\n");
+        } catch (RejectedExecutionException e) {
+            send(exchange, 503, e.getMessage());
+        } catch (CancellationException e) {
+            send(exchange, 503, "Service Stopped");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            send(exchange, 503, "Interrupted");
+        } catch (ExecutionException e) {
+            send(exchange, 400, "Bad Request : " + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Answers with the throughput and the latency percentiles of the service.
+     * @param exchange  the HTTP exchange
+     */
+    private void handleStats(HttpExchange exchange) throws IOException {
+        send(exchange, 200, "throughput " + service.throughput()
+                + "\np50 " + service.latency(50)
+                + "\np90 " + service.latency(90)
+                + "\np99 " + service.latency(99) + "\n");
+    }
+
+    /**
+     * Reads the instance from the body and the methods from the query.
+     * @param query the query parameters
+     * @param body  the budgets on the first line, then one item per line
+     * @return the request to solve
+     */
+    private static SolveRequest parseRequest(Map<String, String> query, String body) {
+        String[] lines = body.strip().split("\\R");
+        double[] budgets = Arrays.stream(lines[0].trim().split("\\s+")).mapToDouble(Double::parseDouble).toArray();
+        Item[] items = new Item[lines.length - 1];
+        for (int i = 1; i < lines.length; i++) {
+            double[] values = Arrays.stream(lines[i].trim().split("\\s+")).mapToDouble(Double::parseDouble).toArray();
+            if (values.length != budgets.length + 1) {
+                throw new IllegalArgumentException("Item " + i + " has " + (values.length - 1) + " costs");
+            }
+            items[i - 1] = new Item(values[0], Arrays.copyOfRange(values, 1, values.length));
+        }
+        if (items.length == 0) {
+            throw new IllegalArgumentException("No items");
+        }
+
+        int populationSize = Integer.parseInt(query.getOrDefault("population", String.valueOf(Constants.SOLUTION_NUMBER)));
+        int generations = Integer.parseInt(query.getOrDefault("generations", String.valueOf(Constants.GENERATIONS)));
+        long timeBudget = Long.parseLong(query.getOrDefault("budget", String.valueOf(Constants.SERVICE_TIME_BUDGET)));
+        if (populationSize < 2) {
+            throw new IllegalArgumentException("Population must be at least 2");
+        }
+        if (generations < 1) {
+            throw new IllegalArgumentException("Generations must be at least 1");
+        }
+        if (timeBudget <= 0 || timeBudget > Constants.SERVICE_MAX_TIME_BUDGET) {
+            throw new IllegalArgumentException("Budget must be between 1 and " + Constants.SERVICE_MAX_TIME_BUDGET + " ms");
+        }
+
+        return new SolveRequest(items, budgets,
+                query.getOrDefault("mutation", Constants.MUTATIONS[0]),
+                query.getOrDefault("crossover", Constants.CROSSOVERS[0]),
+                query.getOrDefault("repair", Constants.REPAIRS[0]),
+                query.getOrDefault("selection", Constants.SELECTIONS[0]),
+                populationSize, generations, timeBudget);
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> parameters = new HashMap<>();
+        if (query == null) {
+            return parameters;
+        }
+        for (String parameter : query.split("&")) {
+            String[] pair = parameter.split("=", 2);
+            if (pair.length == 2) {
+                parameters.put(URLDecoder.decode(pair[0], StandardCharsets.UTF_8), URLDecoder.decode(pair[1], StandardCharsets.UTF_8));
+            }
+        }
+        return parameters;
+    }
+
+    private static void send(HttpExchange exchange, int status, String text) throws IOException {
+        byte[] response = text.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, response.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(response);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        SolveServer server = new SolveServer(new SolveService(Constants.SERVICE_WORKERS, Constants.SERVICE_CAPACITY), Constants.SERVICE_PORT);
+        server.start();
+        System.out.println("Serveur démarré sur le port " + Constants.SERVICE_PORT);
+    }
+}
@@ -0,0 +1,189 @@
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * The SolveService class solves many independent instances concurrently with a shared pool of workers.
+ * Requests are admitted in a bounded queue and rejected when it is full. Each worker runs a few generations
+ * of a request, then puts it back at the end of the queue, so all the requests progress at the same pace.
+ * A request stops at its number of generations or when its time budget is over, also checked between the children
+ * of a generation; only the initialization of the population can not be interrupted. Latency percentiles are estimated from a fixed-size reservoir sample of the finished requests.
+ */
+public class SolveService {
+    private final BlockingQueue<Job> jobs = new LinkedBlockingQueue<>();
+    private final Semaphore admitted;
+    private final Thread[] workers;
+    private final double[] latencies = new double[Constants.SERVICE_LATENCY_SAMPLES];   // Reservoir of latencies
+    private long finishedNumber;
+    private final long startTime;
+    private volatile boolean running = true;
+
+    /**
+     * A request in progress with its genetic algorithm.
+     */
+    private static class Job {
+        private final SolveRequest request;
+        private final CompletableFuture<Solution> result = new CompletableFuture<>();
+        private final long submitTime;
+        private final long deadline;
+        private GeneticAlgorithm ga;
+        private int generation;
+
+        private Job(SolveRequest request) {
+            this.request = request;
+            this.submitTime = System.nanoTime();
+            this.deadline = submitTime + request.getTimeBudget() * 1_000_000L;
+        }
+    }
+
+    /**
+     * Constructs a SolveService and starts its workers.
+     * @param workerNumber  the number of worker threads
+     * @param capacity      the maximum number of requests admitted at the same time
+     */
+    public SolveService(int workerNumber, int capacity) {
+        this.admitted = new Semaphore(capacity);
+        this.workers = new Thread[workerNumber];
+        this.startTime = System.nanoTime();
+        for (int i = 0; i < workerNumber; i++) {
+            workers[i] = new Thread(this::work, "solve-worker-" + i);
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+    }
+
+    /**
+     * Submits a request to the service.
+     * @param request   the request to solve
+     * @return the best solution found, when the request is finished
+     * @throws IllegalArgumentException if the population has less than 2 solutions, the generations are not positive,
+     *                                  or the time budget is not between 1 and Constants.SERVICE_MAX_TIME_BUDGET
+     * @throws RejectedExecutionException if the queue is full
+     */
+    public CompletableFuture<Solution> submit(SolveRequest request) {
+        if (request.getPopulationSize() < 2 || request.getGenerations() < 1
+                || request.getTimeBudget() <= 0 || request.getTimeBudget() > Constants.SERVICE_MAX_TIME_BUDGET) {
+            throw new IllegalArgumentException("Population must be at least 2, generations positive and budget at most "
+                    + Constants.SERVICE_MAX_TIME_BUDGET + " ms");
+        }
+        if (!running || !admitted.tryAcquire()) {
+            throw new RejectedExecutionException("Solve Queue Full !!");
+        }
+        Job job = new Job(request);
+        jobs.add(job);
+        return job.result;
+    }
+
+    /**
+     * Takes a request from the queue, runs a slice of generations and puts it back if it is not finished.
+     */
+    private void work() {
+        while (running) {
+            Job job;
+            try {
+                job = jobs.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            try {
+                SolveRequest request = job.request;
+                if (job.ga == null) {
+                    Population population = new Population(request.getPopulationSize(), request.getItems(), request.getBudgets(), request.getRepairMethod());
+                    job.ga = new GeneticAlgorithm(population);
+                }
+                for (int i = 0; i < Constants.SERVICE_SLICE && !isFinished(job); i++) {
+                    job.ga.nextGeneration(request.getMutationMethod(), request.getCrossoverMethod(), request.getRepairMethod(),
+                            request.getSelectionMethod(), job.deadline);
+                    job.generation++;
+                }
+                if (isFinished(job)) {
+                    finish(job);
+                    job.result.complete(job.ga.getPopulation().getBestSolution());
+                } else {
+                    jobs.add(job);
+                }
+            } catch (RuntimeException e) {
+                finish(job);
+                job.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    private boolean isFinished(Job job) {
+        return job.generation >= job.request.getGenerations() || System.nanoTime() >= job.deadline;
+    }
+
+    /**
+     * Records the latency of a finished request and frees its place in the queue.
+     * Once the reservoir is full, the latency replaces a random sample with probability size / finishedNumber,
+     * so the reservoir stays a uniform sample of all the latencies.
+     * @param job   the finished request
+     */
+    private void finish(Job job) {
+        double latency = (System.nanoTime() - job.submitTime) / 1_000_000.0;
+        synchronized (latencies) {
+            if (finishedNumber < latencies.length) {
+                latencies[(int) finishedNumber] = latency;
+            } else {
+                long sample = ThreadLocalRandom.current().nextLong(finishedNumber + 1);
+                if (sample < latencies.length) {
+                    latencies[(int) sample] = latency;
+                }
+            }
+            finishedNumber++;
+        }
+        admitted.release();
+    }
+
+    /**
+     * Calculates the number of finished requests per second since the service started.
+     * @return the throughput in requests per second
+     */
+    public double throughput() {
+        long finished;
+        synchronized (latencies) {
+            finished = finishedNumber;
+        }
+        return finished / ((System.nanoTime() - startTime) / 1_000_000_000.0);
+    }
+
+    /**
+     * Estimates a percentile of the latencies of the finished requests from the reservoir.
+     * @param percentile    the percentile to calculate, between 0 and 100
+     * @return the latency in milliseconds, or 0 if no request is finished
+     */
+    public double latency(double percentile) {
+        double[] sorted;
+        synchronized (latencies) {
+            sorted = Arrays.copyOf(latencies, (int) Math.min(finishedNumber, latencies.length));
+        }
+        Arrays.sort(sorted);
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    /**
+     * Stops the workers. The requests still in the queue are cancelled.
+     */
+    public void shutdown() {
+        running = false;
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        // Wait for the workers to finish their slice, so no request is put back after the queue is emptied
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        Job job;
+        while ((job = jobs.poll()) != null) {
+            job.result.cancel(false);
+        }
+    }
+}
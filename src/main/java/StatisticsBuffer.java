@@ -0,0 +1,72 @@
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The StatisticsBuffer class is a lock-free ring buffer of per-generation statistics, written by one solver thread
+ * and read by one display thread. The solver never waits: when the buffer is full, the statistics are dropped.
+ */
+public class StatisticsBuffer {
+    private final int mask;
+    private final int[] generations;
+    private final double[] bestValues;
+    private final double[] meanValues;
+    private final AtomicLong head = new AtomicLong();   // Next position to read, only moved by the reader
+    private final AtomicLong tail = new AtomicLong();   // Next position to write, only moved by the writer
+
+    /**
+     * The Consumer interface receives the statistics read from the buffer.
+     */
+    public interface Consumer {
+        void accept(int generation, double best, double mean);
+    }
+
+    /**
+     * Constructs a StatisticsBuffer with the specified capacity.
+     * @param capacity  the number of generations the buffer can hold, rounded up to a power of two
+     */
+    public StatisticsBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = size - 1;
+        this.generations = new int[size];
+        this.bestValues = new double[size];
+        this.meanValues = new double[size];
+    }
+
+    /**
+     * Adds the statistics of a generation, only called by the solver thread.
+     * @param generation    the generation number
+     * @param best          the utility of the best solution
+     * @param mean          the mean utility of the population
+     * @return true if the statistics were added, false if the buffer is full
+     */
+    public boolean offer(int generation, double best, double mean) {
+        long position = tail.get();
+        if (position - head.get() > mask) {
+            return false;
+        }
+        int index = (int) (position & mask);
+        generations[index] = generation;
+        bestValues[index] = best;
+        meanValues[index] = mean;
+        // Publish the slot after it is written
+        tail.lazySet(position + 1);
+        return true;
+    }
+
+    /**
+     * Reads at most maxNumber statistics, only called by the display thread.
+     * @param maxNumber the maximum number of statistics to read
+     * @param consumer  receives each statistics read
+     * @return the number of statistics read
+     */
+    public int drain(int maxNumber, Consumer consumer) {
+        long position = head.get();
+        int number = (int) Math.min(maxNumber, tail.get() - position);
+        for (int i = 0; i < number; i++) {
+            int index = (int) ((position + i) & mask);
+            consumer.accept(generations[index], bestValues[index], meanValues[index]);
+        }
+        // Free the slots after they are read
+        head.lazySet(position + number);
+        return number;
+    }
+}
@@ -0,0 +1,223 @@
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * The Tuner class searches the best configuration of the genetic algorithm by racing.
+ * Every configuration first gets a few runs. After each round, the configurations which are significantly worse
+ * than the best one (Welch's t-test) are dropped, then only the best half is kept, and the number of runs of the
+ * survivors is doubled. The race stops when one configuration is left or when the survivors have MULTI runs.
+ */
+public class Tuner {
+    private final Item[] items;
+    private final double[] budgets;
+
+    /**
+     * The Configuration class represents the methods and parameters of one run of the genetic algorithm,
+     * with the final utilities of the runs already made.
+     */
+    public static class Configuration {
+        private final String mutation;
+        private final String crossover;
+        private final String repair;
+        private final String selection;
+        private final double mutationRate;
+        private final double elitismRate;
+        private final int tournamentSize;
+        private final int populationSize;
+        private final List<Double> results = new ArrayList<>();
+
+        public Configuration(String mutation, String crossover, String repair, String selection,
+                             double mutationRate, double elitismRate, int tournamentSize, int populationSize) {
+            this.mutation = mutation;
+            this.crossover = crossover;
+            this.repair = repair;
+            this.selection = selection;
+            this.mutationRate = mutationRate;
+            this.elitismRate = elitismRate;
+            this.tournamentSize = tournamentSize;
+            this.populationSize = populationSize;
+        }
+
+        public double[] getResults() {
+            return results.stream().mapToDouble(Double::doubleValue).toArray();
+        }
+
+        public double getMean() {
+            return GeneticAlgorithm.mean(getResults());
+        }
+
+        @Override
+        public String toString() {
+            return "Mutation: " + mutation + ", Crossover: " + crossover + ", Repair: " + repair + ", Selection: " + selection
+                    + ", Taux de mutation: " + mutationRate + ", Taux d'élitisme: " + elitismRate
+                    + ", Tournoi: " + tournamentSize + ", Population: " + populationSize;
+        }
+    }
+
+    /**
+     * Constructs a Tuner on the specified instance.
+     * @param items     an array of items
+     * @param budgets   an array of budget constraints
+     */
+    public Tuner(Item[] items, double[] budgets) {
+        this.items = items;
+        this.budgets = budgets;
+    }
+
+    /**
+     * Creates the configurations to race: all the method combinations with the default parameters,
+     * and random combinations of methods and parameters.
+     * @param randomNumber  the number of random configurations
+     * @return the configurations
+     */
+    public static List<Configuration> createConfigurations(int randomNumber) {
+        List<Configuration> configurations = new ArrayList<>();
+        for (String mutation : Constants.MUTATIONS) {
+            for (String selection : Constants.SELECTIONS) {
+                for (String repair : Constants.REPAIRS) {
+                    for (String crossover : Constants.CROSSOVERS) {
+                        configurations.add(new Configuration(mutation, crossover, repair, selection, Constants.MUTATION_RATE,
+                                Constants.ELITISM_RATE, Constants.TOURNAMENT_SIZE, Constants.SOLUTION_NUMBER));
+                    }
+                }
+            }
+        }
+
+        Random rand = new Random();
+        for (int i = 0; i < randomNumber; i++) {
+            configurations.add(new Configuration(
+                    Constants.MUTATIONS[rand.nextInt(Constants.MUTATIONS.length)],
+                    Constants.CROSSOVERS[rand.nextInt(Constants.CROSSOVERS.length)],
+                    Constants.REPAIRS[rand.nextInt(Constants.REPAIRS.length)],
+                    Constants.SELECTIONS[rand.nextInt(Constants.SELECTIONS.length)],
+                    Constants.MUTATION_RATES[rand.nextInt(Constants.MUTATION_RATES.length)],
+                    Constants.ELITISM_RATES[rand.nextInt(Constants.ELITISM_RATES.length)],
+                    Constants.TOURNAMENT_SIZES[rand.nextInt(Constants.TOURNAMENT_SIZES.length)],
+                    Constants.SOLUTION_NUMBERS[rand.nextInt(Constants.SOLUTION_NUMBERS.length)]));
+        }
+        return configurations;
+    }
+
+    /**
+     * Races the configurations until one is left or the survivors have maxRuns runs.
+     * @param configurations    the configurations to race
+     * @param firstRuns         the number of runs of each configuration in the first round
+     * @param maxRuns           the maximum number of runs of a configuration
+     * @return the surviving configurations, best first
+     */
+    public List<Configuration> race(List<Configuration> configurations, int firstRuns, int maxRuns) {
+        List<Configuration> survivors = new ArrayList<>(configurations);
+        int runs = Math.min(firstRuns, maxRuns);
+        int round = 0;
+
+        while (true) {
+            for (Configuration configuration : survivors) {
+                runUntil(configuration, runs);
+            }
+            survivors.sort(Comparator.comparingDouble(Configuration::getMean).reversed());
+            System.out.println(STR."------ Tour: \{round} ------ Configurations: \{survivors.size()} Exécutions: \{runs} Meilleure moyenne : \{survivors.get(0).getMean()}");
+            if (survivors.size() == 1 || runs >= maxRuns) {
+                return survivors;
+            }
+
+            // Drop the configurations which are significantly worse than the best one
+            Configuration best = survivors.get(0);
+            survivors.removeIf(configuration -> configuration != best && isDominated(configuration, best));
+
+            // Keep the best half for the next round
+            int kept = Math.max(1, (survivors.size() + 1) / 2);
+            survivors = new ArrayList<>(survivors.subList(0, kept));
+            runs = Math.min(runs * 2, maxRuns);
+            round++;
+        }
+    }
+
+    /**
+     * Runs the genetic algorithm with a configuration until it has the specified number of results.
+     * The missing runs are made in parallel.
+     * @param configuration the configuration to run
+     * @param runs          the number of results wanted
+     */
+    private void runUntil(Configuration configuration, int runs) {
+        int missing = runs - configuration.results.size();
+        if (missing <= 0) {
+            return;
+        }
+        double[] results = IntStream.range(0, missing).parallel().mapToDouble(i -> run(configuration)).toArray();
+        for (double result : results) {
+            configuration.results.add(result);
+        }
+    }
+
+    /**
+     * Makes one run of the genetic algorithm with a configuration.
+     * @param configuration the configuration to run
+     * @return the utility of the best solution found
+     */
+    private double run(Configuration configuration) {
+        Population population = new Population(configuration.populationSize, items, budgets, configuration.repair);
+        GeneticAlgorithm ga = new GeneticAlgorithm(population, configuration.mutationRate, configuration.elitismRate, configuration.tournamentSize);
+        for (int gen = 0; gen < Constants.GENERATIONS; gen++) {
+            ga.nextGeneration(configuration.mutation, configuration.crossover, configuration.repair, configuration.selection);
+        }
+        return ga.getPopulation().getBestSolution().getUtilities();
+    }
+
+    /**
+     * Checks with a one-sided Welch's t-test if a configuration is significantly worse than the best one.
+     * @param configuration the configuration to test
+     * @param best          the configuration with the best mean
+     * @return true if the configuration is dominated, else false
+     */
+    private static boolean isDominated(Configuration configuration, Configuration best) {
+        double[] a = best.getResults();
+        double[] b = configuration.getResults();
+        double varianceA = sampleVariance(a) / a.length;
+        double varianceB = sampleVariance(b) / b.length;
+        double difference = GeneticAlgorithm.mean(a) - GeneticAlgorithm.mean(b);
+        if (varianceA + varianceB == 0.0) {
+            return difference > 0.0;
+        }
+
+        double t = difference / Math.sqrt(varianceA + varianceB);
+        double degrees = Math.pow(varianceA + varianceB, 2)
+                / (varianceA * varianceA / (a.length - 1) + varianceB * varianceB / (b.length - 1));
+        return t > studentQuantile(Constants.TUNER_Z, degrees);
+    }
+
+    private static double sampleVariance(double[] numbers) {
+        double mean = GeneticAlgorithm.mean(numbers);
+        double sumSquaredDiff = 0.0;
+        for (double number : numbers) {
+            sumSquaredDiff += Math.pow(number - mean, 2);
+        }
+        return sumSquaredDiff / (numbers.length - 1);
+    }
+
+    /**
+     * Approximates the quantile of the Student's t-distribution from the same quantile of the normal distribution
+     * (Cornish-Fisher expansion).
+     * @param z         the quantile of the normal distribution
+     * @param degrees   the degrees of freedom
+     * @return the quantile of the Student's t-distribution
+     */
+    private static double studentQuantile(double z, double degrees) {
+        double z3 = z * z * z;
+        double z5 = z3 * z * z;
+        return z + (z3 + z) / (4 * degrees) + (5 * z5 + 16 * z3 + 3 * z) / (96 * degrees * degrees);
+    }
+
+    public static void main(String[] args) {
+        double[] budgets = new double[Constants.CONSTRAINT_NUMBER];
+        for (int i = 0; i < Constants.CONSTRAINT_NUMBER; i++) {
+            budgets[i] = new Random().nextDouble()*Constants.ITEM_NUMBER*2+(Constants.ITEM_NUMBER/2.0);
+        }
+        Item[] items = Item.generateRandomItems(Constants.ITEM_NUMBER, Constants.CONSTRAINT_NUMBER, budgets);
+
+        Tuner tuner = new Tuner(items, budgets);
+        List<Configuration> survivors = tuner.race(createConfigurations(Constants.TUNER_RANDOM_CONFIGURATIONS), Constants.TUNER_FIRST_RUNS, Constants.MULTI);
+        System.out.println("--------------------------Meilleure configuration-------------------------------");
+        System.out.println(survivors.get(0));
+        System.out.println(STR."Moyenne : \{survivors.get(0).getMean()} Ecart-type : \{GeneticAlgorithm.standardDeviation(survivors.get(0).getResults())}");
+    }
+}